@@ -15,13 +15,15 @@
  */
 package org.terasology.blockdetector.systems;
 
-import com.google.common.collect.Maps;
 import org.joml.RoundingMode;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.blockdetector.utilities.BlockMatcher;
+import org.terasology.blockdetector.utilities.CountingDetectorData;
 import org.terasology.blockdetector.utilities.DetectorData;
+import org.terasology.blockdetector.utilities.PeriodTable;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
@@ -34,14 +36,15 @@ import org.terasology.engine.registry.Share;
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.block.BlockUri;
 
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The main system containing all block detector logic.
@@ -76,9 +79,17 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
     private InventoryManager inventoryManager;
 
     /**
-     * The map of detector-detectable bindings.
+     * Used to look up the positions of detectable blocks for chunk-indexed detectors.
      */
-    private Map<String, DetectorData> detectors;
+    @In
+    private DetectableBlockIndex detectableBlockIndex;
+
+    /**
+     * The current snapshot of detector-detectable bindings.
+     * <p>
+     * Replaced copy-on-write on every registration, so scans read it without locking.
+     */
+    private final AtomicReference<DetectorRegistry> registry = new AtomicReference<>(DetectorRegistry.EMPTY);
 
     private float timeSinceLastUpdate;
 
@@ -102,6 +113,11 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
      */
     private Integer taskPeriod;
 
+    /**
+     * The detector whose signal the current task runs.
+     */
+    private DetectorData taskData;
+
     private Set<Vector3i> detectedBlocks = new HashSet<>();
 
     /**
@@ -129,7 +145,7 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
     * @return a Map of DetectorData
     */
     public Map<String, DetectorData> getDetectors() {
-        return this.detectors;
+        return registry.get().getDetectors();
     }
 
     @Override
@@ -138,9 +154,6 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
 
         updatePeriod = 1.0f;
         taskPeriod = null;
-        if (detectors == null) {
-            detectors = Maps.newHashMap();
-        }
     }
 
     /**
@@ -184,6 +197,7 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
      */
     private void shutdownTimer() {
         taskPeriod = null;
+        taskData = null;
 
         if (timerTask != null) {
             timerTask.cancel();
@@ -198,40 +212,31 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
     }
 
     /**
-     * Adds a detector data object to the map.
+     * Adds a detector data object to the registry, compiling its matcher and period table.
      *
      * @param data the DetectorData object.
      */
     @Override
     public void addDetector(DetectorData data) {
         logger.info("Adding detector with item Uri {}", data.getDetectorUri());
-        if (detectors == null) {
-            detectors = Maps.newHashMap();
+        // Compile outside the update, which may be retried when registrations race.
+        BlockMatcher matcher = new BlockMatcher(data.getDetectableUris());
+        PeriodTable periodTable = data instanceof CountingDetectorData ? null : PeriodTable.of(data);
+        registry.updateAndGet(current -> current.with(data, matcher, periodTable));
+        if (data.isChunkIndexed() && detectableBlockIndex != null) {
+            detectableBlockIndex.registerMatcher(matcher);
         }
-        detectors.put(data.getDetectorUri(), data);
     }
 
     /**
-     * Removes a detector with a specified Uri from the map.
+     * Removes a detector with a specified Uri from the registry.
      *
      * @param detectorUri the Uri of the detector to be removed.
      */
     @Override
     public void removeDetector(String detectorUri) {
         logger.info("Removing detector with item Uri {}", detectorUri);
-        if (detectors != null) {
-            detectors.remove(detectorUri);
-        }
-    }
-
-    /**
-     * Gets a detector with a specified Uri from the map, or null if it doesn't exist.
-     *
-     * @param detectorUri the detector's Uri.
-     * @return the detector, or null if it doesn't exist.
-     */
-    private DetectorData getDetectorData(String detectorUri) {
-        return detectors.getOrDefault(detectorUri, null);
+        registry.updateAndGet(current -> current.without(detectorUri));
     }
 
     public Set<Vector3i> getDetectedBlocks() {
@@ -265,8 +270,11 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
             itemUri = item.getParentPrefab().getName();
         }
 
-        // Get the item's associated DetectorData, if it exists.
-        DetectorData data = getDetectorData(itemUri);
+        // Get the item's associated DetectorData, if it exists, from a single registry snapshot.
+        DetectorRegistry snapshot = registry.get();
+        DetectorData data = snapshot.getDetectorData(itemUri);
+        BlockMatcher matcher = snapshot.getMatcher(itemUri);
+        PeriodTable periodTable = snapshot.getPeriodTable(itemUri);
 
         if (data == null) {
             shutdownTimer();
@@ -303,6 +311,91 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
         }
 
 
+        if (data instanceof CountingDetectorData) {
+            if (detectableBlockIndex == null) {
+                shutdownTimer();
+                return;
+            }
+
+            // Count the detectable blocks within the detector's range using the per-chunk summed-volume tables.
+            BlockRegion scanRegion = new BlockRegion(data.getRange()).translate(playerPosition);
+            int count = detectableBlockIndex.countOccurrences(matcher, scanRegion);
+
+            if (count > 0) {
+                int newPeriod = ((CountingDetectorData) data).getPeriodForCount(count);
+                logger.debug("Detector {} counted {} blocks", data.getDetectorUri(), count);
+                schedule(data, newPeriod);
+            } else {
+                shutdownTimer();
+            }
+            return;
+        }
+
+        if (data.isChunkIndexed() && detectableBlockIndex != null) {
+            // Look up the detectable blocks within the detector's range in the per-chunk index.
+            BlockRegion scanRegion = new BlockRegion(data.getRange()).translate(playerPosition);
+            detectableBlockIndex.collectOccurrences(matcher, scanRegion, detectedBlocks);
+        } else {
+            scanRange(data, matcher, playerPosition);
+        }
+
+        if (detectedBlocks.size() > 0) {
+            // Get the squared distance to the closest detectable block.
+            long minSquaredDistance = Long.MAX_VALUE;
+            for (Vector3i block : detectedBlocks) {
+                minSquaredDistance = Math.min(minSquaredDistance, block.distanceSquared(playerPosition));
+            }
+
+            // Keep the current period while the distance stays within its hysteresis band.
+            Integer currentPeriod = taskData == data ? taskPeriod : null;
+            int newPeriod = periodTable.getPeriod(minSquaredDistance, currentPeriod);
+            logger.debug("Detector {} minimal squared block distance: {}", data.getDetectorUri(), minSquaredDistance);
+            schedule(data, newPeriod);
+        } else {
+            shutdownTimer();
+        }
+    }
+
+    /**
+     * Runs the detector's signal with the specified period, rescheduling the timer if the period has changed.
+     *
+     * @param data the detector.
+     * @param newPeriod the period of the signal, in ms.
+     */
+    private void schedule(DetectorData data, int newPeriod) {
+        if (taskPeriod == null || taskPeriod != newPeriod || taskData != data) {
+            logger.info("Detector {} rescheduling task at taskPeriod {}", data.getDetectorUri(), newPeriod);
+
+            // Reset the timer.
+            shutdownTimer();
+
+            // Recreate the timer with the current detector's function.
+            initTimer(data);
+
+            taskPeriod = newPeriod;
+            taskData = data;
+
+            timer.scheduleAtFixedRate(timerTask, 0, newPeriod);
+        }
+    }
+
+    /**
+     * Adds all detectable blocks within the detector's range to detectedBlocks.
+     * <p>
+     * The block ids of the loaded chunks are matched row by row through the index if it is available; otherwise every
+     * block is tested through the world provider.
+     *
+     * @param data the detector.
+     * @param matcher the detector's compiled matcher.
+     * @param playerPosition the player's block position.
+     */
+    private void scanRange(DetectorData data, BlockMatcher matcher, Vector3i playerPosition) {
+        if (detectableBlockIndex != null) {
+            BlockRegion scanRegion = new BlockRegion(data.getRange()).translate(playerPosition);
+            detectableBlockIndex.scanOccurrences(matcher, scanRegion, detectedBlocks);
+            return;
+        }
+
         // Iterate through all the blocks within the detector's range.
         for (int x = playerPosition.x + data.getRange().minX(); x <= playerPosition.x + data.getRange().maxX(); x++) {
             for (int y = playerPosition.y + data.getRange().minY(); y <= playerPosition.y + data.getRange().maxY(); y++) {
@@ -311,44 +404,13 @@ public class BlockDetectorSystemImpl extends BaseComponentSystem implements Upda
                     Vector3i blockPosition = new Vector3i(x, y, z);
                     Block block = worldProvider.getBlock(blockPosition);
 
-                    // Get the block's Uri.
-                    BlockUri uri = block.getURI();
-
                     // If the current detector detects this block...
-                    if (data.getDetectableUris().contains(uri.toString())) {
+                    if (matcher.matches(block.getURI())) {
                         // ...add it to the set.
                         detectedBlocks.add(blockPosition);
                     }
                 }
             }
         }
-
-        if (detectedBlocks.size() > 0) {
-            // Get the distance to the closest detectable block, MAX_VALUE if detectedBlocks is empty
-            int minDistance = detectedBlocks.stream()
-                    .map(block -> block.distanceSquared(playerPosition))
-                    .min(Comparator.comparing(Long::valueOf))
-                    .map(min -> (int) Math.sqrt(min))
-                    .orElse(Integer.MAX_VALUE);
-
-            // If taskPeriod is changed, reschedule the timer.
-            int newPeriod = data.getPeriod(minDistance);
-
-            if (taskPeriod == null || taskPeriod != newPeriod) {
-                logger.info("Detector {} rescheduling task at taskPeriod {} (minimal block distance: {})", data.getDetectorUri(), newPeriod, minDistance);
-
-                // Reset the timer.
-                shutdownTimer();
-
-                // Recreate the timer with the current detector's function.
-                initTimer(data);
-
-                taskPeriod = newPeriod;
-
-                timer.scheduleAtFixedRate(timerTask, 0, newPeriod);
-            }
-        } else {
-            shutdownTimer();
-        }
     }
 }
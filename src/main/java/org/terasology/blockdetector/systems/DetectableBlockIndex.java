@@ -0,0 +1,69 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.systems;
+
+import org.joml.Vector3i;
+import org.terasology.blockdetector.utilities.BlockMatcher;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.Collection;
+
+/**
+ * A per-chunk index of the positions of detectable blocks.
+ * <p>
+ * Used by detectors with {@link org.terasology.blockdetector.utilities.DetectorData#isChunkIndexed()} set.
+ */
+public interface DetectableBlockIndex {
+    /**
+     * Registers the compiled matcher of a chunk-indexed detector.
+     * <p>
+     * Stored lists of registered matchers are kept up to date on block changes even before the detector is used. May
+     * be called from any thread.
+     *
+     * @param matcher the compiled matcher of a detector.
+     */
+    void registerMatcher(BlockMatcher matcher);
+
+    /**
+     * Adds the world positions of all blocks matched by the matcher within a region to a collection.
+     * <p>
+     * Unloaded chunks within the region are skipped.
+     *
+     * @param matcher the compiled matcher of a detector.
+     * @param region the region to search, in world coordinates.
+     * @param out the collection the positions are added to.
+     */
+    void collectOccurrences(BlockMatcher matcher, BlockRegionc region, Collection<Vector3i> out);
+
+    /**
+     * Adds the world positions of all blocks matched by the matcher within a region to a collection, matching the block
+     * ids of the loaded chunks row by row without building or storing occurrence lists.
+     * <p>
+     * Used by detectors that aren't chunk-indexed. Unloaded chunks within the region are skipped.
+     *
+     * @param matcher the compiled matcher of a detector.
+     * @param region the region to search, in world coordinates.
+     * @param out the collection the positions are added to.
+     */
+    void scanOccurrences(BlockMatcher matcher, BlockRegionc region, Collection<Vector3i> out);
+
+    /**
+     * Counts the blocks matched by the matcher within a region, in constant time per chunk.
+     * <p>
+     * Unloaded chunks within the region are skipped.
+     *
+     * @param matcher the compiled matcher of a detector.
+     * @param region the region to search, in world coordinates.
+     * @return the number of matched blocks.
+     */
+    int countOccurrences(BlockMatcher matcher, BlockRegionc region);
+
+    /**
+     * Sets the number of bytes the per-chunk state of the index may use before chunks are evicted.
+     * <p>
+     * Evicted chunks are read from the save game or rebuilt from the terrain when they are scanned again.
+     *
+     * @param budgetBytes the budget, in bytes.
+     */
+    void setCacheBudget(long budgetBytes);
+}
@@ -0,0 +1,643 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.systems;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.blockdetector.utilities.BlockIdMatchKernel;
+import org.terasology.blockdetector.utilities.BlockMatcher;
+import org.terasology.blockdetector.utilities.ChunkOccurrenceStore;
+import org.terasology.blockdetector.utilities.ChunkOccurrences;
+import org.terasology.blockdetector.utilities.DetectionCacheManager;
+import org.terasology.blockdetector.utilities.SummedVolumeTable;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.core.paths.PathManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.event.ReceiveEvent;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.game.Game;
+import org.terasology.engine.network.NetworkSystem;
+import org.terasology.engine.persistence.StorageManager;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.OnChangedBlock;
+import org.terasology.engine.world.WorldComponent;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.event.BeforeChunkUnload;
+import org.terasology.engine.world.chunks.event.OnChunkLoaded;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the per-chunk occurrence lists of chunk-indexed detectors.
+ * <p>
+ * Lists are built lazily when a chunk is first scanned, updated on block changes and written to the save game when
+ * the game is saved, together with the chunks they describe; lists of chunks unloaded since the last save are kept
+ * until then. The files are written on a background thread, and the save is only committed to the store once the
+ * engine has finished writing the chunks, see {@link ChunkOccurrenceStore}. When a chunk is loaded again its stored
+ * lists are read on first use instead of being rebuilt from the terrain.
+ * <p>
+ * Lists are only stored on the authority, where the save game is. As detectors are only scanned for the local player,
+ * this means lists are only reused across restarts in single player and on the host of a listen server; dedicated
+ * servers never build lists, and clients of a remote server always build them from the terrain.
+ * <p>
+ * Summed-volume tables used for counting are derived from the lists on first use and are not stored.
+ * <p>
+ * The lists and tables of all chunks are kept within a byte budget by a {@link DetectionCacheManager}; chunks far from
+ * recently scanned regions and not used recently are evicted first.
+ */
+@RegisterSystem
+@Share(value = DetectableBlockIndex.class)
+public class DetectableBlockIndexSystem extends BaseComponentSystem implements UpdateSubscriberSystem, DetectableBlockIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DetectableBlockIndexSystem.class);
+
+    /**
+     * The name of the save game subdirectory containing the stored lists.
+     */
+    private static final String STORE_DIRECTORY = "blockDetector";
+
+    /**
+     * How long, in ms, a scanned region keeps protecting nearby chunks from eviction.
+     */
+    private static final long ANCHOR_TIMEOUT_MS = 30_000;
+
+    /**
+     * The period, in ms, at which the cache occupancy and evictions are reported.
+     */
+    private static final long REPORT_PERIOD_MS = 60_000;
+
+    /**
+     * Used to get the chunks whose lists are (re)built.
+     */
+    @In
+    private ChunkProvider chunkProvider;
+
+    /**
+     * Used to resolve the block ids of detectable blocks.
+     */
+    @In
+    private BlockManager blockManager;
+
+    /**
+     * Used to timestamp cache accesses.
+     */
+    @In
+    private Time time;
+
+    /**
+     * Used to locate the current save game.
+     */
+    @In
+    private Game game;
+
+    /**
+     * Used to only store lists on the authority.
+     */
+    @In
+    private NetworkSystem networkSystem;
+
+    /**
+     * Used to commit the stored lists once the chunks saved along with them are on disk.
+     */
+    @In
+    private StorageManager storageManager;
+
+    /**
+     * The store of the current save game, or null if the game has no save location or this is a remote client.
+     */
+    private ChunkOccurrenceStore store;
+
+    /**
+     * The occurrence lists of the loaded chunks, keyed by chunk position.
+     */
+    private final Map<Vector3i, ChunkEntry> chunks = Maps.newHashMap();
+
+    /**
+     * The modified lists of chunks unloaded since the last save, keyed by chunk position.
+     */
+    private final Map<Vector3i, ChunkEntry> unsavedChunks = Maps.newHashMap();
+
+    /**
+     * Every registered or queried matcher, keyed by fingerprint. Used to update lists on block changes.
+     * <p>
+     * Concurrent, as detectors may be registered from any thread.
+     */
+    private final Map<Long, BlockMatcher> matchers = Maps.newConcurrentMap();
+
+    /**
+     * The id match kernel of every matcher, keyed by fingerprint.
+     */
+    private final Map<Long, BlockIdMatchKernel> kernels = Maps.newHashMap();
+
+    /**
+     * Tracks the size of every chunk's lists and tables.
+     */
+    private final DetectionCacheManager cache = new DetectionCacheManager(DetectionCacheManager.DEFAULT_BUDGET_BYTES);
+
+    /**
+     * The center chunks of recently scanned regions, with the time they were last scanned.
+     */
+    private final Map<Vector3i, Long> anchors = Maps.newHashMap();
+
+    /**
+     * The time of the last cache report, or -1 before the first query.
+     */
+    private long lastReportTime = -1;
+    private long evictionCountAtLastReport;
+
+    /**
+     * Whether lists were written for a save that hasn't been committed to the store yet.
+     */
+    private boolean commitPending;
+
+    @Override
+    public void initialise() {
+        super.initialise();
+
+        boolean authority = networkSystem == null || networkSystem.getMode().isAuthority();
+        if (authority && game != null && game.getName() != null) {
+            store = new ChunkOccurrenceStore(PathManager.getInstance().getSavePath(game.getName()).resolve(STORE_DIRECTORY));
+        }
+    }
+
+    /**
+     * Commits the lists written at the last save once the engine has finished saving.
+     */
+    @Override
+    public void update(float delta) {
+        if (commitPending && !isSaving()) {
+            store.commitSave();
+            commitPending = false;
+        }
+    }
+
+    @Override
+    public void preSave() {
+        if (store == null) {
+            return;
+        }
+        for (Map.Entry<Vector3i, ChunkEntry> entry : chunks.entrySet()) {
+            writeChunk(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Vector3i, ChunkEntry> entry : unsavedChunks.entrySet()) {
+            writeChunk(entry.getKey(), entry.getValue());
+        }
+        unsavedChunks.clear();
+    }
+
+    @Override
+    public void postSave() {
+        // The chunks are only handed to the engine's save thread here, so the commit waits until they are written.
+        commitPending = store != null;
+    }
+
+    @Override
+    public void shutdown() {
+        if (store != null) {
+            if (commitPending && !isSaving()) {
+                store.commitSave();
+            }
+            store.close();
+            store = null;
+        }
+        commitPending = false;
+        chunks.clear();
+        unsavedChunks.clear();
+        matchers.clear();
+        kernels.clear();
+        anchors.clear();
+    }
+
+    private boolean isSaving() {
+        return storageManager != null && storageManager.isSaving();
+    }
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkLoaded(OnChunkLoaded event, EntityRef worldEntity) {
+        Vector3i chunkPos = new Vector3i(event.getChunkPos());
+        ChunkEntry unsaved = unsavedChunks.remove(chunkPos);
+        if (unsaved != null) {
+            // The chunk was unloaded since the last save, its lists are newer than the stored ones.
+            chunks.put(chunkPos, unsaved);
+        } else {
+            // The stored lists are only read once the chunk is scanned or changed.
+            chunks.putIfAbsent(chunkPos, new ChunkEntry());
+        }
+    }
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onBeforeChunkUnload(BeforeChunkUnload event, EntityRef worldEntity) {
+        Vector3i chunkPos = new Vector3i(event.getChunkPos());
+        ChunkEntry entry = chunks.remove(chunkPos);
+        cache.remove(chunkPos);
+        if (entry != null && entry.dirty && store != null) {
+            // Only write the lists along with the chunk at the next save.
+            entry.tables.clear();
+            unsavedChunks.put(chunkPos, entry);
+        }
+    }
+
+    @ReceiveEvent(components = BlockComponent.class)
+    public void onBlockChanged(OnChangedBlock event, EntityRef blockEntity) {
+        Vector3ic position = event.getBlockPosition();
+        Vector3i chunkPos = new Vector3i(
+                Math.floorDiv(position.x(), Chunks.SIZE_X),
+                Math.floorDiv(position.y(), Chunks.SIZE_Y),
+                Math.floorDiv(position.z(), Chunks.SIZE_Z));
+        ChunkEntry entry = chunks.get(chunkPos);
+        if (entry == null || matchers.isEmpty()) {
+            return;
+        }
+        if (entry.sections.isEmpty() && (entry.storeRead || store == null || !store.contains(chunkPos))) {
+            // Neither built nor stored lists to update.
+            return;
+        }
+
+        // Read the stored lists first, so the change is applied to them.
+        readStore(chunkPos, entry);
+
+        int packed = ChunkOccurrences.pack(
+                Math.floorMod(position.x(), Chunks.SIZE_X),
+                Math.floorMod(position.y(), Chunks.SIZE_Y),
+                Math.floorMod(position.z(), Chunks.SIZE_Z));
+        int localX = ChunkOccurrences.unpackX(packed);
+        int localY = ChunkOccurrences.unpackY(packed);
+        int localZ = ChunkOccurrences.unpackZ(packed);
+        entry.sections.entrySet().removeIf(section -> {
+            BlockMatcher matcher = matchers.get(section.getKey());
+            if (matcher == null) {
+                // Read from disk for a matcher that is no longer registered, so it can't be updated.
+                entry.dirty = true;
+                entry.tables.remove(section.getKey());
+                return true;
+            }
+            boolean wasMatched = matcher.matches(event.getOldType().getURI());
+            boolean isMatched = matcher.matches(event.getNewType().getURI());
+            if (wasMatched != isMatched) {
+                if (isMatched) {
+                    section.getValue().add(packed);
+                } else {
+                    section.getValue().remove(packed);
+                }
+                SummedVolumeTable table = entry.tables.get(section.getKey());
+                if (table != null) {
+                    entry.tables.put(section.getKey(), table.add(localX, localY, localZ, isMatched ? 1 : -1));
+                }
+                entry.dirty = true;
+                entry.modified = true;
+            }
+            return false;
+        });
+        cache.update(chunkPos, entry.getSizeInBytes(), time.getGameTimeInMs());
+    }
+
+    @Override
+    public void registerMatcher(BlockMatcher matcher) {
+        matchers.putIfAbsent(matcher.getFingerprint(), matcher);
+    }
+
+    @Override
+    public void collectOccurrences(BlockMatcher matcher, BlockRegionc region, Collection<Vector3i> out) {
+        matchers.putIfAbsent(matcher.getFingerprint(), matcher);
+        long now = time.getGameTimeInMs();
+        addAnchor(region, now);
+
+        Vector3i chunkPos = new Vector3i();
+        for (int cx = Math.floorDiv(region.minX(), Chunks.SIZE_X); cx <= Math.floorDiv(region.maxX(), Chunks.SIZE_X); cx++) {
+            for (int cy = Math.floorDiv(region.minY(), Chunks.SIZE_Y); cy <= Math.floorDiv(region.maxY(), Chunks.SIZE_Y); cy++) {
+                for (int cz = Math.floorDiv(region.minZ(), Chunks.SIZE_Z); cz <= Math.floorDiv(region.maxZ(), Chunks.SIZE_Z); cz++) {
+                    chunkPos.set(cx, cy, cz);
+                    ChunkOccurrences occurrences = getOccurrences(chunkPos, matcher);
+                    if (occurrences == null) {
+                        continue;
+                    }
+                    cache.update(chunkPos, chunks.get(chunkPos).getSizeInBytes(), now);
+
+                    int offsetX = cx * Chunks.SIZE_X;
+                    int offsetY = cy * Chunks.SIZE_Y;
+                    int offsetZ = cz * Chunks.SIZE_Z;
+                    for (int i = 0; i < occurrences.size(); i++) {
+                        int packed = occurrences.get(i);
+                        int x = offsetX + ChunkOccurrences.unpackX(packed);
+                        int y = offsetY + ChunkOccurrences.unpackY(packed);
+                        int z = offsetZ + ChunkOccurrences.unpackZ(packed);
+                        if (region.contains(x, y, z)) {
+                            out.add(new Vector3i(x, y, z));
+                        }
+                    }
+                }
+            }
+        }
+        enforceBudget(now);
+    }
+
+    @Override
+    public void scanOccurrences(BlockMatcher matcher, BlockRegionc region, Collection<Vector3i> out) {
+        BlockIdMatchKernel kernel = getKernel(matcher);
+        short[] row = new short[Chunks.SIZE_X];
+        int[] hits = new int[Chunks.SIZE_X];
+        Vector3i chunkPos = new Vector3i();
+        for (int cx = Math.floorDiv(region.minX(), Chunks.SIZE_X); cx <= Math.floorDiv(region.maxX(), Chunks.SIZE_X); cx++) {
+            for (int cy = Math.floorDiv(region.minY(), Chunks.SIZE_Y); cy <= Math.floorDiv(region.maxY(), Chunks.SIZE_Y); cy++) {
+                for (int cz = Math.floorDiv(region.minZ(), Chunks.SIZE_Z); cz <= Math.floorDiv(region.maxZ(), Chunks.SIZE_Z); cz++) {
+                    Chunk chunk = chunkProvider.getChunk(chunkPos.set(cx, cy, cz));
+                    if (chunk == null) {
+                        continue;
+                    }
+
+                    // Clamp the region to the chunk, in chunk-relative coordinates.
+                    int offsetX = cx * Chunks.SIZE_X;
+                    int offsetY = cy * Chunks.SIZE_Y;
+                    int offsetZ = cz * Chunks.SIZE_Z;
+                    int minX = Math.max(region.minX() - offsetX, 0);
+                    int maxX = Math.min(region.maxX() - offsetX, Chunks.SIZE_X - 1);
+                    int rowLength = maxX - minX + 1;
+                    for (int z = Math.max(region.minZ() - offsetZ, 0); z <= Math.min(region.maxZ() - offsetZ, Chunks.SIZE_Z - 1); z++) {
+                        for (int y = Math.max(region.minY() - offsetY, 0); y <= Math.min(region.maxY() - offsetY, Chunks.SIZE_Y - 1); y++) {
+                            for (int x = 0; x < rowLength; x++) {
+                                row[x] = chunk.getBlockId(minX + x, y, z);
+                            }
+                            int hitCount = kernel.matchRow(row, 0, rowLength, hits);
+                            for (int i = 0; i < hitCount; i++) {
+                                out.add(new Vector3i(offsetX + minX + hits[i], offsetY + y, offsetZ + z));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int countOccurrences(BlockMatcher matcher, BlockRegionc region) {
+        matchers.putIfAbsent(matcher.getFingerprint(), matcher);
+        long now = time.getGameTimeInMs();
+        addAnchor(region, now);
+
+        int count = 0;
+        Vector3i chunkPos = new Vector3i();
+        for (int cx = Math.floorDiv(region.minX(), Chunks.SIZE_X); cx <= Math.floorDiv(region.maxX(), Chunks.SIZE_X); cx++) {
+            for (int cy = Math.floorDiv(region.minY(), Chunks.SIZE_Y); cy <= Math.floorDiv(region.maxY(), Chunks.SIZE_Y); cy++) {
+                for (int cz = Math.floorDiv(region.minZ(), Chunks.SIZE_Z); cz <= Math.floorDiv(region.maxZ(), Chunks.SIZE_Z); cz++) {
+                    chunkPos.set(cx, cy, cz);
+                    SummedVolumeTable table = getTable(chunkPos, matcher);
+                    if (table == null) {
+                        continue;
+                    }
+                    cache.update(chunkPos, chunks.get(chunkPos).getSizeInBytes(), now);
+
+                    // Clamp the region to the chunk, in chunk-relative coordinates.
+                    int offsetX = cx * Chunks.SIZE_X;
+                    int offsetY = cy * Chunks.SIZE_Y;
+                    int offsetZ = cz * Chunks.SIZE_Z;
+                    count += table.count(
+                            Math.max(region.minX() - offsetX, 0),
+                            Math.max(region.minY() - offsetY, 0),
+                            Math.max(region.minZ() - offsetZ, 0),
+                            Math.min(region.maxX() - offsetX, Chunks.SIZE_X - 1),
+                            Math.min(region.maxY() - offsetY, Chunks.SIZE_Y - 1),
+                            Math.min(region.maxZ() - offsetZ, Chunks.SIZE_Z - 1));
+                }
+            }
+        }
+        enforceBudget(now);
+        return count;
+    }
+
+    @Override
+    public void setCacheBudget(long budgetBytes) {
+        cache.setBudgetBytes(budgetBytes);
+    }
+
+    public DetectionCacheManager getCacheManager() {
+        return cache;
+    }
+
+    /**
+     * Marks the center chunk of a scanned region as an anchor, protecting the chunks around it from eviction.
+     */
+    private void addAnchor(BlockRegionc region, long now) {
+        Vector3i center = new Vector3i(
+                Math.floorDiv((region.minX() + region.maxX()) / 2, Chunks.SIZE_X),
+                Math.floorDiv((region.minY() + region.maxY()) / 2, Chunks.SIZE_Y),
+                Math.floorDiv((region.minZ() + region.maxZ()) / 2, Chunks.SIZE_Z));
+        anchors.put(center, now);
+    }
+
+    /**
+     * Evicts the lists and tables of chunks until the cache is within its budget.
+     * <p>
+     * Nothing is written here. Lists built from the terrain are simply rebuilt when needed again, but chunks whose stored
+     * lists are outdated by block changes are only evicted once they have been written at the next save, unless there
+     * is no store. Evicted chunks stay known to the index and read their stored lists again when they are next scanned
+     * or changed.
+     */
+    private void enforceBudget(long now) {
+        anchors.values().removeIf(lastScanned -> now - lastScanned > ANCHOR_TIMEOUT_MS);
+
+        List<Vector3i> evictions = cache.selectEvictions(anchors.keySet(), now, chunkPos -> {
+            ChunkEntry entry = chunks.get(chunkPos);
+            return entry == null || !entry.modified || store == null;
+        });
+        for (Vector3i chunkPos : evictions) {
+            ChunkEntry entry = chunks.get(chunkPos);
+            if (entry != null) {
+                entry.sections.clear();
+                entry.tables.clear();
+                entry.storeRead = false;
+                entry.dirty = false;
+                entry.modified = false;
+            }
+        }
+
+        if (lastReportTime < 0) {
+            lastReportTime = now;
+        } else if (now - lastReportTime >= REPORT_PERIOD_MS) {
+            long evictionCount = cache.getEvictionCount() - evictionCountAtLastReport;
+            String format = "Detection cache: {} of {} bytes used by {} chunks, {} chunks evicted in the last {} s";
+            Object[] arguments = {cache.getUsedBytes(), cache.getBudgetBytes(), cache.getEntryCount(), evictionCount,
+                    (now - lastReportTime) / 1000};
+            if (evictionCount > 0) {
+                logger.info(format, arguments);
+            } else {
+                logger.debug(format, arguments);
+            }
+            lastReportTime = now;
+            evictionCountAtLastReport = cache.getEvictionCount();
+        }
+    }
+
+    /**
+     * Gets the summed-volume table of a matcher within a chunk, building it from the occurrence list if necessary.
+     *
+     * @return the table, or null if the chunk isn't loaded.
+     */
+    private SummedVolumeTable getTable(Vector3i chunkPos, BlockMatcher matcher) {
+        ChunkOccurrences occurrences = getOccurrences(chunkPos, matcher);
+        if (occurrences == null) {
+            return null;
+        }
+        ChunkEntry entry = chunks.get(chunkPos);
+        return entry.tables.computeIfAbsent(matcher.getFingerprint(), fingerprint -> SummedVolumeTable.of(occurrences));
+    }
+
+    /**
+     * Gets the occurrence list of a matcher within a chunk, reading or building it if necessary.
+     *
+     * @return the occurrence list, or null if the chunk isn't loaded.
+     */
+    private ChunkOccurrences getOccurrences(Vector3i chunkPos, BlockMatcher matcher) {
+        ChunkEntry entry = chunks.get(chunkPos);
+        Chunk chunk = null;
+        if (entry == null) {
+            // The chunk may have been loaded before this system was initialised.
+            chunk = chunkProvider.getChunk(chunkPos);
+            if (chunk == null) {
+                return null;
+            }
+            entry = new ChunkEntry();
+            chunks.put(new Vector3i(chunkPos), entry);
+        }
+
+        readStore(chunkPos, entry);
+
+        ChunkOccurrences occurrences = entry.sections.get(matcher.getFingerprint());
+        if (occurrences == null) {
+            if (chunk == null) {
+                chunk = chunkProvider.getChunk(chunkPos);
+                if (chunk == null) {
+                    return null;
+                }
+            }
+            occurrences = buildOccurrences(chunk, getKernel(matcher));
+            entry.sections.put(matcher.getFingerprint(), occurrences);
+            entry.dirty = true;
+        }
+        return occurrences;
+    }
+
+    /**
+     * Reads the stored lists of a chunk, if they haven't been read yet. Lists already in memory are newer and kept.
+     */
+    private void readStore(Vector3i chunkPos, ChunkEntry entry) {
+        if (!entry.storeRead) {
+            entry.storeRead = true;
+            if (store != null) {
+                store.read(chunkPos).forEach(entry.sections::putIfAbsent);
+            }
+        }
+    }
+
+    /**
+     * Gets the id match kernel of a matcher, resolving it again if some of its targets weren't registered before.
+     */
+    private BlockIdMatchKernel getKernel(BlockMatcher matcher) {
+        BlockIdMatchKernel kernel = kernels.get(matcher.getFingerprint());
+        if (kernel == null || !kernel.isComplete()) {
+            kernel = BlockIdMatchKernel.resolve(matcher, blockManager);
+            kernels.put(matcher.getFingerprint(), kernel);
+        }
+        return kernel;
+    }
+
+    /**
+     * Builds the occurrence list of a matcher by matching every row of block ids of a chunk.
+     * <p>
+     * The chunk's block storage isn't exposed, so every row is copied one id at a time before it is matched.
+     */
+    private static ChunkOccurrences buildOccurrences(Chunk chunk, BlockIdMatchKernel kernel) {
+        short[] row = new short[Chunks.SIZE_X];
+        int[] hits = new int[Chunks.SIZE_X];
+        int[] packed = new int[8];
+        int size = 0;
+        for (int z = 0; z < Chunks.SIZE_Z; z++) {
+            for (int y = 0; y < Chunks.SIZE_Y; y++) {
+                for (int x = 0; x < Chunks.SIZE_X; x++) {
+                    row[x] = chunk.getBlockId(x, y, z);
+                }
+
+                int hitCount = kernel.matchRow(row, 0, Chunks.SIZE_X, hits);
+                if (hitCount == 0) {
+                    continue;
+                }
+                if (size + hitCount > packed.length) {
+                    packed = Arrays.copyOf(packed, Math.max(size + hitCount, packed.length * 2));
+                }
+                int rowStart = ChunkOccurrences.pack(0, y, z);
+                for (int i = 0; i < hitCount; i++) {
+                    packed[size++] = rowStart + hits[i];
+                }
+            }
+        }
+        return ChunkOccurrences.of(packed, size);
+    }
+
+    /**
+     * Queues the lists of a chunk for writing if they differ from the stored ones.
+     */
+    private void writeChunk(Vector3i chunkPos, ChunkEntry entry) {
+        if (entry.dirty) {
+            store.write(chunkPos, entry.sections);
+            entry.dirty = false;
+            entry.modified = false;
+        }
+    }
+
+    /**
+     * The occurrence lists of a single loaded chunk.
+     */
+    private static final class ChunkEntry {
+        /**
+         * The occurrence lists, keyed by matcher fingerprint.
+         */
+        private final Map<Long, ChunkOccurrences> sections = Maps.newHashMap();
+
+        /**
+         * The summed-volume tables of the lists, keyed by matcher fingerprint.
+         */
+        private final Map<Long, SummedVolumeTable> tables = Maps.newHashMap();
+
+        /**
+         * Whether the stored lists have been read.
+         */
+        private boolean storeRead;
+
+        /**
+         * Whether the lists differ from the stored ones, and are written at the next save.
+         */
+        private boolean dirty;
+
+        /**
+         * Whether a block change has made the stored lists outdated since they were last written; such chunks are not
+         * evicted, as reading the stored lists again would lose the change.
+         */
+        private boolean modified;
+
+        /**
+         * @return the number of bytes held by the lists and tables.
+         */
+        private long getSizeInBytes() {
+            long bytes = 0;
+            for (SummedVolumeTable table : tables.values()) {
+                bytes += table.getSizeInBytes();
+            }
+            for (ChunkOccurrences occurrences : sections.values()) {
+                bytes += occurrences.getSizeInBytes();
+            }
+            return bytes;
+        }
+    }
+}
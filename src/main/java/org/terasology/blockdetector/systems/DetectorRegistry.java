@@ -0,0 +1,112 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.systems;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.terasology.blockdetector.utilities.BlockMatcher;
+import org.terasology.blockdetector.utilities.DetectorData;
+import org.terasology.blockdetector.utilities.PeriodTable;
+
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the registered detectors.
+ * <p>
+ * Registration never mutates a snapshot; {@link #with(DetectorData, BlockMatcher, PeriodTable)} and
+ * {@link #without(String)} return a copy, so a scan holding a snapshot always sees a consistent set of detectors, their
+ * compiled matchers and their period tables.
+ */
+final class DetectorRegistry {
+    static final DetectorRegistry EMPTY = new DetectorRegistry(ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of());
+
+    /**
+     * The map of detector-detectable bindings.
+     */
+    private final ImmutableMap<String, DetectorData> detectors;
+
+    /**
+     * The compiled matcher of every detector, keyed by detector Uri.
+     */
+    private final ImmutableMap<String, BlockMatcher> matchers;
+
+    /**
+     * The period table of every distance-driven detector, keyed by detector Uri.
+     */
+    private final ImmutableMap<String, PeriodTable> periodTables;
+
+    private DetectorRegistry(ImmutableMap<String, DetectorData> detectors, ImmutableMap<String, BlockMatcher> matchers,
+                             ImmutableMap<String, PeriodTable> periodTables) {
+        this.detectors = detectors;
+        this.matchers = matchers;
+        this.periodTables = periodTables;
+    }
+
+    Map<String, DetectorData> getDetectors() {
+        return detectors;
+    }
+
+    /**
+     * @param detectorUri the detector's Uri, may be null.
+     * @return the detector, or null if it doesn't exist.
+     */
+    DetectorData getDetectorData(String detectorUri) {
+        return detectors.get(detectorUri);
+    }
+
+    /**
+     * @param detectorUri the detector's Uri, may be null.
+     * @return the detector's compiled matcher, or null if the detector doesn't exist.
+     */
+    BlockMatcher getMatcher(String detectorUri) {
+        return matchers.get(detectorUri);
+    }
+
+    /**
+     * @param detectorUri the detector's Uri, may be null.
+     * @return the detector's period table, or null if the detector doesn't exist or is a counting detector.
+     */
+    PeriodTable getPeriodTable(String detectorUri) {
+        return periodTables.get(detectorUri);
+    }
+
+    /**
+     * Only copies the maps, so it is cheap to retry when concurrent registrations race.
+     *
+     * @param data the detector.
+     * @param matcher the detector's compiled matcher.
+     * @param periodTable the detector's period table, or null for counting detectors.
+     * @return a copy of this snapshot with the detector added, replacing any detector with the same Uri.
+     */
+    DetectorRegistry with(DetectorData data, BlockMatcher matcher, PeriodTable periodTable) {
+        Map<String, DetectorData> newDetectors = Maps.newLinkedHashMap(detectors);
+        Map<String, BlockMatcher> newMatchers = Maps.newLinkedHashMap(matchers);
+        Map<String, PeriodTable> newPeriodTables = Maps.newLinkedHashMap(periodTables);
+        newDetectors.put(data.getDetectorUri(), data);
+        newMatchers.put(data.getDetectorUri(), matcher);
+        if (periodTable == null) {
+            newPeriodTables.remove(data.getDetectorUri());
+        } else {
+            newPeriodTables.put(data.getDetectorUri(), periodTable);
+        }
+        return new DetectorRegistry(ImmutableMap.copyOf(newDetectors), ImmutableMap.copyOf(newMatchers),
+                ImmutableMap.copyOf(newPeriodTables));
+    }
+
+    /**
+     * @return a copy of this snapshot without the specified detector, or this snapshot if it isn't registered.
+     */
+    DetectorRegistry without(String detectorUri) {
+        if (!detectors.containsKey(detectorUri)) {
+            return this;
+        }
+        Map<String, DetectorData> newDetectors = Maps.newLinkedHashMap(detectors);
+        Map<String, BlockMatcher> newMatchers = Maps.newLinkedHashMap(matchers);
+        Map<String, PeriodTable> newPeriodTables = Maps.newLinkedHashMap(periodTables);
+        newDetectors.remove(detectorUri);
+        newMatchers.remove(detectorUri);
+        newPeriodTables.remove(detectorUri);
+        return new DetectorRegistry(ImmutableMap.copyOf(newDetectors), ImmutableMap.copyOf(newMatchers),
+                ImmutableMap.copyOf(newPeriodTables));
+    }
+}
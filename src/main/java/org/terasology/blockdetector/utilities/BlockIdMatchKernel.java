@@ -0,0 +1,82 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockUri;
+
+/**
+ * Matches rows of block ids against the targets of a {@link BlockMatcher} in bulk.
+ * <p>
+ * The targets are resolved to a bitmap over all block ids, so each id is tested with a single table lookup, and hits
+ * are written without branching.
+ */
+public final class BlockIdMatchKernel {
+    private static final int ID_COUNT = 1 << Short.SIZE;
+
+    /**
+     * One bit per block id, set if the id is a target.
+     */
+    private final long[] targetBits = new long[ID_COUNT / Long.SIZE];
+
+    /**
+     * Whether every target was registered with the block manager when the kernel was resolved.
+     */
+    private final boolean complete;
+
+    private BlockIdMatchKernel(BlockMatcher matcher, BlockManager blockManager) {
+        boolean allResolved = true;
+        for (BlockUri target : matcher.getTargets()) {
+            Block block = blockManager.getBlock(target);
+            if (block != null && target.equals(block.getURI())) {
+                int id = block.getId() & 0xffff;
+                targetBits[id >>> 6] |= 1L << id;
+            } else {
+                allResolved = false;
+            }
+        }
+        this.complete = allResolved;
+    }
+
+    /**
+     * Resolves the targets of a matcher to their block ids.
+     *
+     * @param matcher the compiled matcher of a detector.
+     * @param blockManager the block manager the ids are looked up in.
+     */
+    public static BlockIdMatchKernel resolve(BlockMatcher matcher, BlockManager blockManager) {
+        return new BlockIdMatchKernel(matcher, blockManager);
+    }
+
+    /**
+     * @return false if some targets weren't registered yet, in which case the kernel should be resolved again later.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public boolean matches(short id) {
+        int index = id & 0xffff;
+        return (targetBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Matches a row of block ids.
+     *
+     * @param ids the block ids.
+     * @param from the index of the first id of the row.
+     * @param length the number of ids in the row.
+     * @param hits receives the offsets of the matched ids relative to {@code from}; must hold at least length entries.
+     * @return the number of offsets written to hits.
+     */
+    public int matchRow(short[] ids, int from, int length, int[] hits) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            int index = ids[from + i] & 0xffff;
+            hits[count] = i;
+            count += (int) (targetBits[index >>> 6] >>> index) & 1;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.BlockUriParseException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * An immutable, pre-parsed form of a detector's detectable block Uris.
+ * <p>
+ * Built once when a detector is registered, so the scan loop compares parsed {@link BlockUri}s
+ * instead of formatting every scanned block's Uri as a string.
+ */
+public final class BlockMatcher {
+    private static final Logger logger = LoggerFactory.getLogger(BlockMatcher.class);
+
+    /**
+     * The parsed detectable block Uris.
+     */
+    private final ImmutableSet<BlockUri> targets;
+
+    /**
+     * A hash of the targets that is stable across restarts, used to key persisted per-chunk indexes.
+     */
+    private final long fingerprint;
+
+    public BlockMatcher(Set<String> detectableUris) {
+        ImmutableSet.Builder<BlockUri> builder = ImmutableSet.builder();
+        for (String detectableUri : detectableUris) {
+            try {
+                builder.add(new BlockUri(detectableUri));
+            } catch (BlockUriParseException e) {
+                logger.warn("Ignoring invalid detectable block Uri {}", detectableUri, e);
+            }
+        }
+        this.targets = builder.build();
+        this.fingerprint = computeFingerprint(targets);
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of the sorted, lower-cased target Uris.
+     */
+    private static long computeFingerprint(Set<BlockUri> targets) {
+        long hash = 0xcbf29ce484222325L;
+        String[] uris = targets.stream().map(uri -> uri.toString().toLowerCase(Locale.ROOT)).sorted().toArray(String[]::new);
+        for (String uri : uris) {
+            for (byte b : uri.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= '\n';
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public Set<BlockUri> getTargets() {
+        return targets;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @param uri the Uri of a scanned block
+     * @return true if the block is one of the detectable blocks
+     */
+    public boolean matches(BlockUri uri) {
+        return targets.contains(uri);
+    }
+}
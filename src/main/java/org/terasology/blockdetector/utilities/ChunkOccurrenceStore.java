@@ -0,0 +1,459 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes the per-chunk occurrence lists of chunk-indexed detectors.
+ * <p>
+ * Every chunk is stored in its own file, holding one section per {@link BlockMatcher} fingerprint:
+ * <pre>
+ *     int  MAGIC
+ *     int  FORMAT_VERSION
+ *     long save generation
+ *     int  section count
+ *     per section: long matcher fingerprint, int occurrence count, int[] packed positions in ascending order
+ * </pre>
+ * Chunk files are written while the game is saved, tagged with the generation of that save. Before the first file of
+ * a generation is written, the generation is recorded as pending; once the save is known to be on disk, it is recorded
+ * as committed with {@link #commitSave()}. When the store is opened after a session that ended with a pending
+ * generation above the committed one, the files of that generation describe terrain that was never saved and are
+ * deleted. Files with a different magic number or version and files with invalid sections are ignored. The chunks of
+ * deleted or ignored files are rebuilt from the terrain.
+ * <p>
+ * Files are written and committed in order on a background thread. Lists queued for writing are returned by
+ * {@link #read(Vector3ic)} until they are on disk, so the store always reads back what was last written. Files are
+ * read into a single buffer in one pass and closed right away; they are not memory-mapped, as a mapped file can't be
+ * replaced or deleted on some platforms until the mapping is garbage collected.
+ */
+public class ChunkOccurrenceStore {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkOccurrenceStore.class);
+
+    private static final int MAGIC = 0x42444958;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int SECTION_HEADER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int CHUNK_VOLUME = Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z;
+
+    /**
+     * The name of the file holding the committed save generation.
+     */
+    private static final String GENERATION_FILE = "generation";
+
+    /**
+     * The name of the file holding the latest generation files were written with.
+     */
+    private static final String PENDING_FILE = "pending";
+
+    private static final String CHUNK_FILE_EXTENSION = ".bdi";
+
+    /**
+     * How long, in seconds, {@link #close()} waits for queued writes.
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    /**
+     * The directory containing the chunk files.
+     */
+    private final Path directory;
+
+    /**
+     * Writes chunk files and generations in the order they were queued.
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BlockDetector index writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The chunks with a file on disk or queued for writing.
+     */
+    private final Set<Vector3i> storedChunks = Sets.newConcurrentHashSet();
+
+    /**
+     * Copies of the lists queued for writing, keyed by chunk position; removed once they are on disk.
+     */
+    private final Map<Vector3i, Map<Long, ChunkOccurrences>> queuedWrites = Maps.newConcurrentMap();
+
+    /**
+     * The generation of the last committed save.
+     */
+    private volatile long committedGeneration;
+
+    /**
+     * The first generation written by this session; files of this or later generations are readable before they are
+     * committed.
+     */
+    private final long firstSessionGeneration;
+
+    /**
+     * The generation files are currently written with. Only used on the calling thread.
+     */
+    private long saveGeneration;
+
+    /**
+     * The generation last recorded as pending. Only used on the writer thread.
+     */
+    private long pendingGeneration;
+
+    /**
+     * False if the files of an interrupted save couldn't be removed, in which case nothing is read or written, as a
+     * later commit would make them valid.
+     */
+    private boolean usable = true;
+
+    public ChunkOccurrenceStore(Path directory) {
+        this.directory = directory;
+        this.committedGeneration = readGeneration(GENERATION_FILE);
+        this.pendingGeneration = readGeneration(PENDING_FILE);
+        this.firstSessionGeneration = Math.max(committedGeneration, pendingGeneration) + 1;
+        this.saveGeneration = firstSessionGeneration;
+        scanDirectory(pendingGeneration > committedGeneration);
+    }
+
+    private long readGeneration(String fileName) {
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(directory.resolve(fileName)), StandardCharsets.UTF_8).trim());
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to read the detectable block index generation from {}", fileName, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Collects the stored chunks, deleting temporary files and, after an interrupted save, files of uncommitted
+     * generations.
+     */
+    private void scanDirectory(boolean saveInterrupted) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        if (saveInterrupted) {
+            logger.info("Removing detectable block index files of an interrupted save");
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                Vector3i chunkPos = parseChunkFileName(fileName);
+                if (chunkPos == null) {
+                    continue;
+                }
+                if (saveInterrupted && readFileGeneration(file) > committedGeneration) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                storedChunks.add(chunkPos);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to scan the detectable block index, ignoring the stored index", e);
+            storedChunks.clear();
+            usable = !saveInterrupted;
+        }
+    }
+
+    /**
+     * @return the generation of a chunk file, or {@link Long#MAX_VALUE} if it can't be read.
+     */
+    private static long readFileGeneration(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES + Long.BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is full
+            }
+            header.flip();
+            return header.remaining() < header.capacity() ? Long.MAX_VALUE : header.getLong(2 * Integer.BYTES);
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static Vector3i parseChunkFileName(String fileName) {
+        if (!fileName.endsWith(CHUNK_FILE_EXTENSION)) {
+            return null;
+        }
+        String[] coordinates = fileName.substring(0, fileName.length() - CHUNK_FILE_EXTENSION.length()).split("\\.");
+        if (coordinates.length != 3) {
+            return null;
+        }
+        try {
+            return new Vector3i(Integer.parseInt(coordinates[0]), Integer.parseInt(coordinates[1]),
+                    Integer.parseInt(coordinates[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getCommittedGeneration() {
+        return committedGeneration;
+    }
+
+    /**
+     * Records that the files written since the last commit are part of a completed save. Must only be called once the
+     * game's save is on disk.
+     */
+    public void commitSave() {
+        if (!usable) {
+            return;
+        }
+        long generation = saveGeneration++;
+        writer.execute(() -> {
+            try {
+                writeGeneration(GENERATION_FILE, generation);
+                committedGeneration = generation;
+            } catch (IOException e) {
+                logger.warn("Failed to commit the detectable block index generation", e);
+            }
+        });
+    }
+
+    private void writeGeneration(String fileName, long generation) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName);
+        Path temporaryFile = file.resolveSibling(fileName + ".tmp");
+        Files.write(temporaryFile, Long.toString(generation).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return true if the chunk has stored lists or lists queued for writing.
+     */
+    public boolean contains(Vector3ic chunkPos) {
+        return storedChunks.contains(chunkPos);
+    }
+
+    private Path getChunkFile(Vector3ic chunkPos) {
+        return directory.resolve(chunkPos.x() + "." + chunkPos.y() + "." + chunkPos.z() + CHUNK_FILE_EXTENSION);
+    }
+
+    /**
+     * Reads the stored occurrence lists of a chunk.
+     *
+     * @param chunkPos the chunk position.
+     * @return the occurrence lists keyed by matcher fingerprint; empty if the chunk isn't stored, is outdated or invalid.
+     */
+    public Map<Long, ChunkOccurrences> read(Vector3ic chunkPos) {
+        Map<Long, ChunkOccurrences> queued = queuedWrites.get(chunkPos);
+        if (queued != null) {
+            return copy(queued);
+        }
+        Map<Long, ChunkOccurrences> sections = Maps.newHashMap();
+        if (!storedChunks.contains(chunkPos)) {
+            return sections;
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(getChunkFile(chunkPos), StandardOpenOption.READ)) {
+            buffer = readFully(channel);
+        } catch (NoSuchFileException e) {
+            return sections;
+        } catch (IOException e) {
+            logger.warn("Failed to read detectable block index of chunk {}", chunkPos, e);
+            return sections;
+        }
+
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            logger.debug("Ignoring outdated detectable block index of chunk {}", chunkPos);
+            return sections;
+        }
+        long generation = buffer.getLong();
+        if (generation > committedGeneration && generation < firstSessionGeneration) {
+            logger.debug("Ignoring detectable block index of chunk {} from an uncommitted save", chunkPos);
+            return sections;
+        }
+
+        int sectionCount = buffer.getInt();
+        for (int i = 0; i < sectionCount; i++) {
+            if (buffer.remaining() < SECTION_HEADER_BYTES) {
+                return invalid(chunkPos, sections);
+            }
+            long fingerprint = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0 || count > CHUNK_VOLUME || buffer.remaining() < (long) count * Integer.BYTES) {
+                return invalid(chunkPos, sections);
+            }
+            ByteBuffer slice = buffer.slice();
+            slice.limit(count * Integer.BYTES);
+            IntBuffer positions = slice.asIntBuffer();
+            if (!isValid(positions)) {
+                return invalid(chunkPos, sections);
+            }
+            sections.put(fingerprint, ChunkOccurrences.wrap(positions));
+            buffer.position(buffer.position() + count * Integer.BYTES);
+        }
+        return sections;
+    }
+
+    /**
+     * @return true if all positions are within a chunk and in strictly ascending order.
+     */
+    private static boolean isValid(IntBuffer positions) {
+        int previous = -1;
+        for (int i = positions.position(); i < positions.limit(); i++) {
+            int position = positions.get(i);
+            if (position <= previous || position >= CHUNK_VOLUME) {
+                return false;
+            }
+            previous = position;
+        }
+        return true;
+    }
+
+    private static Map<Long, ChunkOccurrences> invalid(Vector3ic chunkPos, Map<Long, ChunkOccurrences> sections) {
+        logger.warn("Ignoring corrupt detectable block index of chunk {}", chunkPos);
+        sections.clear();
+        return sections;
+    }
+
+    /**
+     * Reads the whole channel into a heap buffer.
+     */
+    private static ByteBuffer readFully(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > HEADER_BYTES + (long) CHUNK_VOLUME * Integer.BYTES * 64) {
+            throw new IOException("File too large: " + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static Map<Long, ChunkOccurrences> copy(Map<Long, ChunkOccurrences> sections) {
+        Map<Long, ChunkOccurrences> copy = Maps.newHashMapWithExpectedSize(sections.size());
+        sections.forEach((fingerprint, occurrences) -> copy.put(fingerprint, occurrences.copy()));
+        return copy;
+    }
+
+    /**
+     * Queues the occurrence lists of a chunk for writing as part of the current save, replacing any stored ones.
+     * Nothing is stored if there are no lists.
+     * <p>
+     * The lists are copied, so they may be modified once this returns.
+     *
+     * @param chunkPos the chunk position.
+     * @param sections the occurrence lists keyed by matcher fingerprint.
+     */
+    public void write(Vector3ic chunkPos, Map<Long, ChunkOccurrences> sections) {
+        if (!usable) {
+            return;
+        }
+        Vector3i key = new Vector3i(chunkPos);
+        Map<Long, ChunkOccurrences> snapshot = Collections.unmodifiableMap(copy(sections));
+        long generation = saveGeneration;
+        queuedWrites.put(key, snapshot);
+        if (snapshot.isEmpty()) {
+            storedChunks.remove(key);
+        } else {
+            storedChunks.add(key);
+        }
+        writer.execute(() -> {
+            try {
+                writeChunkFile(key, generation, snapshot);
+            } finally {
+                queuedWrites.remove(key, snapshot);
+            }
+        });
+    }
+
+    private void writeChunkFile(Vector3i chunkPos, long generation, Map<Long, ChunkOccurrences> sections) {
+        Path file = getChunkFile(chunkPos);
+        try {
+            if (sections.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            if (pendingGeneration < generation) {
+                // Record the generation before any of its files, so an interrupted save can be cleaned up.
+                writeGeneration(PENDING_FILE, generation);
+                pendingGeneration = generation;
+            }
+
+            int bytes = HEADER_BYTES;
+            for (ChunkOccurrences occurrences : sections.values()) {
+                bytes += SECTION_HEADER_BYTES + occurrences.size() * Integer.BYTES;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(bytes);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putLong(generation);
+            buffer.putInt(sections.size());
+            for (Map.Entry<Long, ChunkOccurrences> section : sections.entrySet()) {
+                ChunkOccurrences occurrences = section.getValue();
+                buffer.putLong(section.getKey());
+                buffer.putInt(occurrences.size());
+                for (int i = 0; i < occurrences.size(); i++) {
+                    buffer.putInt(occurrences.get(i));
+                }
+            }
+            buffer.flip();
+
+            Files.createDirectories(directory);
+            Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Failed to write detectable block index of chunk {}", chunkPos, e);
+            // An older file would be outdated, so rather rebuild the chunk from the terrain.
+            storedChunks.remove(chunkPos);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException deleteException) {
+                logger.warn("Failed to delete outdated detectable block index of chunk {}", chunkPos, deleteException);
+            }
+        }
+    }
+
+    /**
+     * Finishes the queued writes and commits, then stops the writer thread.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timed out writing the detectable block index");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * The positions of all blocks matched by a single {@link BlockMatcher} within one chunk.
+ * <p>
+ * Positions are stored as a sorted array of packed chunk-relative coordinates, see {@link #pack(int, int, int)}.
+ * Occurrences loaded from disk stay backed by the buffer they were read into until they are first modified.
+ */
+public final class ChunkOccurrences {
+    /**
+     * The read-only buffer backing this list, or null once the list has been copied to the heap.
+     */
+    private IntBuffer source;
+
+    private int[] packed;
+    private int size;
+
+    private ChunkOccurrences(IntBuffer source, int[] packed, int size) {
+        this.source = source;
+        this.packed = packed;
+        this.size = size;
+    }
+
+    /**
+     * @param packed the packed positions, in ascending order; the array is used as is.
+     * @param size the number of valid entries in the array.
+     */
+    public static ChunkOccurrences of(int[] packed, int size) {
+        return new ChunkOccurrences(null, packed, size);
+    }
+
+    /**
+     * @param source a buffer holding packed positions in ascending order, which must not be modified afterwards.
+     */
+    public static ChunkOccurrences wrap(IntBuffer source) {
+        return new ChunkOccurrences(source, null, source.remaining());
+    }
+
+    /**
+     * Packs a chunk-relative position into a single int, ordered by z, then y, then x.
+     */
+    public static int pack(int x, int y, int z) {
+        return x + Chunks.SIZE_X * (y + Chunks.SIZE_Y * z);
+    }
+
+    public static int unpackX(int packed) {
+        return packed % Chunks.SIZE_X;
+    }
+
+    public static int unpackY(int packed) {
+        return (packed / Chunks.SIZE_X) % Chunks.SIZE_Y;
+    }
+
+    public static int unpackZ(int packed) {
+        return packed / (Chunks.SIZE_X * Chunks.SIZE_Y);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes held by this list, on the heap or in its backing buffer.
+     */
+    public long getSizeInBytes() {
+        return (long) (source != null ? size : packed.length) * Integer.BYTES;
+    }
+
+    /**
+     * @return the packed position at the specified index.
+     */
+    public int get(int index) {
+        return source != null ? source.get(source.position() + index) : packed[index];
+    }
+
+    /**
+     * Adds a packed position, keeping the list sorted.
+     *
+     * @return false if the position was already present.
+     */
+    public boolean add(int position) {
+        materialise();
+        int index = Arrays.binarySearch(packed, 0, size, position);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == packed.length) {
+            packed = Arrays.copyOf(packed, Math.max(8, size * 2));
+        }
+        System.arraycopy(packed, index, packed, index + 1, size - index);
+        packed[index] = position;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a packed position.
+     *
+     * @return false if the position was not present.
+     */
+    public boolean remove(int position) {
+        materialise();
+        int index = Arrays.binarySearch(packed, 0, size, position);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(packed, index + 1, packed, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * @return an independent copy of this list; a buffer-backed list shares its read-only buffer with the copy.
+     */
+    public ChunkOccurrences copy() {
+        if (source != null) {
+            return wrap(source.duplicate());
+        }
+        return of(Arrays.copyOf(packed, size), size);
+    }
+
+    /**
+     * Copies a buffer-backed list to the heap, releasing the reference to the buffer.
+     */
+    public void materialise() {
+        if (source != null) {
+            packed = new int[Math.max(8, size)];
+            source.duplicate().get(packed, 0, size);
+            source = null;
+        }
+    }
+}
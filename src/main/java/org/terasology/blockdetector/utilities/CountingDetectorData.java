@@ -0,0 +1,44 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Set;
+
+/**
+ * A DetectorData whose signal depends on the number of detectable blocks within its range rather than the distance
+ * to the closest one.
+ * <p>
+ * Counting detectors are always chunk-indexed, so the count is read from per-chunk summed-volume tables.
+ */
+public abstract class CountingDetectorData extends DetectorData {
+    protected CountingDetectorData(String detectorUri, Set<String> detectableUris, BlockRegion range) {
+        super(detectorUri, detectableUris, range);
+    }
+
+    /**
+     * Counting detectors are always served from the index, whatever {@link #setChunkIndexed(boolean)} was called with.
+     */
+    @Override
+    public boolean isChunkIndexed() {
+        return true;
+    }
+
+    /**
+     * Counting detectors signal by count, see {@link #getPeriodForCount(int)}; a single block at any distance is
+     * treated as a count of one.
+     */
+    @Override
+    public int getPeriod(int minDistance) {
+        return getPeriodForCount(1);
+    }
+
+    /**
+     * Get the period of the run() function being called.
+     *
+     * @param count the number of detectable blocks within the range of the detector, at least 1
+     * @return the period of the signal
+     */
+    public abstract int getPeriodForCount(int count);
+}
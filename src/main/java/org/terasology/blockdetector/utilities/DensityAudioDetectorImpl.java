@@ -0,0 +1,58 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.terasology.engine.audio.AudioManager;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Set;
+
+/**
+ * A CountingDetectorData implementation containing information about an audio asset.
+ * <p>
+ * Plays the asset with a frequency scaling depending on the number of detectable blocks within range,
+ * ranging from frequencyHigh for a single block to frequencyLow at saturationCount blocks or more, with four possible values.
+ */
+public class DensityAudioDetectorImpl extends CountingDetectorData {
+    /**
+     * The audio manager. Should be injected in the custom system implementation.
+     */
+    private AudioManager audioManager;
+
+    /**
+     * The audio asset Uri, represented as a string.
+     */
+    private String audioUri;
+
+    private int frequencyLow;
+    private int frequencyHigh;
+
+    /**
+     * The number of blocks at which the signal reaches frequencyLow.
+     */
+    private int saturationCount;
+
+    private int scaleCount = 4;
+
+    public DensityAudioDetectorImpl(String detectorUri, Set<String> detectableUris, BlockRegion range, AudioManager audioManager, String audioUri,
+                                    int frequencyLow, int frequencyHigh, int saturationCount) {
+        super(detectorUri, detectableUris, range);
+        this.audioManager = audioManager;
+        this.audioUri = audioUri;
+        this.frequencyLow = frequencyLow;
+        this.frequencyHigh = frequencyHigh;
+        this.saturationCount = Math.max(1, saturationCount);
+    }
+
+    @Override
+    public int getPeriodForCount(int count) {
+        int scale = scaleCount * Math.min(count, saturationCount) / saturationCount;
+        return frequencyHigh - (frequencyHigh - frequencyLow) * scale / scaleCount;
+    }
+
+    @Override
+    public void run() {
+        audioManager.playSound(Assets.getSound(audioUri).get());
+    }
+}
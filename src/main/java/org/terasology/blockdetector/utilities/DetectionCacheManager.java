@@ -0,0 +1,188 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the per-chunk state of the detection subsystem within a byte budget.
+ * <p>
+ * The manager only tracks the size and last access time of every chunk; the owner of the state evicts the chunks
+ * returned by {@link #selectEvictions(Collection, long, Predicate)}. Chunks are evicted farthest from the nearest anchor
+ * (a chunk recently scanned by a detector-holding player) and least recently used first.
+ * <p>
+ * Chunks used at the current time and chunks the owner can't evict yet are skipped, so the budget may be exceeded
+ * until they can be evicted. In that case the next selection is delayed, so queries don't rescan the chunks that
+ * can't be evicted every time.
+ */
+public class DetectionCacheManager {
+    /**
+     * The default budget, in bytes.
+     */
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * How much older, in ms, a chunk is considered for every chunk of distance to the nearest anchor.
+     */
+    private static final long DISTANCE_WEIGHT_MS = 10_000;
+
+    /**
+     * The distance, in chunks, assumed when there are no anchors.
+     */
+    private static final int NO_ANCHOR_DISTANCE = 1024;
+
+    /**
+     * How long, in ms, the next selection is delayed after a selection couldn't get back within the budget.
+     */
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final Map<Vector3i, CacheEntry> entries = Maps.newHashMap();
+
+    private long budgetBytes;
+    private long usedBytes;
+    private long evictionCount;
+    private long evictedBytes;
+
+    /**
+     * The time before which no chunks are selected, in ms.
+     */
+    private long nextSelectionTime = Long.MIN_VALUE;
+
+    public DetectionCacheManager(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of chunks evicted since the manager was created.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of bytes evicted since the manager was created.
+     */
+    public long getEvictedBytes() {
+        return evictedBytes;
+    }
+
+    /**
+     * Records the current size of a chunk's state and marks it as used. Chunks without state are not tracked.
+     *
+     * @param chunkPos the chunk position.
+     * @param bytes the size of the chunk's state, in bytes.
+     * @param now the current time, in ms.
+     */
+    public void update(Vector3ic chunkPos, long bytes, long now) {
+        if (bytes == 0) {
+            remove(chunkPos);
+            return;
+        }
+        CacheEntry entry = entries.computeIfAbsent(new Vector3i(chunkPos), key -> new CacheEntry());
+        usedBytes += bytes - entry.bytes;
+        entry.bytes = bytes;
+        entry.lastAccess = now;
+    }
+
+    /**
+     * Stops tracking a chunk, e.g. because it was unloaded.
+     */
+    public void remove(Vector3ic chunkPos) {
+        CacheEntry entry = entries.remove(chunkPos);
+        if (entry != null) {
+            usedBytes -= entry.bytes;
+        }
+    }
+
+    /**
+     * Selects the chunks to evict to get back within the budget and stops tracking them. Chunks used at the current
+     * time, i.e. by the query being answered, are never selected.
+     *
+     * @param anchors the positions of the chunks recently scanned by detector-holding players.
+     * @param now the current time, in ms.
+     * @param evictable whether the state of a chunk can be evicted right now.
+     * @return the positions of the chunks whose state must be evicted, empty if the budget is not exceeded.
+     */
+    public List<Vector3i> selectEvictions(Collection<? extends Vector3ic> anchors, long now, Predicate<? super Vector3ic> evictable) {
+        if (usedBytes <= budgetBytes || now < nextSelectionTime) {
+            return Collections.emptyList();
+        }
+
+        // Only score and sort the chunks that can be evicted.
+        List<Map.Entry<Vector3i, CacheEntry>> candidates = Lists.newArrayList();
+        for (Map.Entry<Vector3i, CacheEntry> entry : entries.entrySet()) {
+            CacheEntry candidate = entry.getValue();
+            if (candidate.lastAccess < now && evictable.test(entry.getKey())) {
+                candidate.score = now - candidate.lastAccess + distanceToNearest(entry.getKey(), anchors) * DISTANCE_WEIGHT_MS;
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingLong((Map.Entry<Vector3i, CacheEntry> candidate) -> candidate.getValue().score).reversed());
+
+        List<Vector3i> evicted = Lists.newArrayList();
+        for (Map.Entry<Vector3i, CacheEntry> candidate : candidates) {
+            if (usedBytes <= budgetBytes) {
+                break;
+            }
+            long bytes = candidate.getValue().bytes;
+            usedBytes -= bytes;
+            evictedBytes += bytes;
+            evictionCount++;
+            entries.remove(candidate.getKey());
+            evicted.add(candidate.getKey());
+        }
+        if (usedBytes > budgetBytes) {
+            nextSelectionTime = now + RETRY_DELAY_MS;
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the Chebyshev distance, in chunks, to the nearest anchor.
+     */
+    private static long distanceToNearest(Vector3ic chunkPos, Collection<? extends Vector3ic> anchors) {
+        long nearest = NO_ANCHOR_DISTANCE;
+        for (Vector3ic anchor : anchors) {
+            long distance = Math.max(Math.abs(chunkPos.x() - anchor.x()),
+                    Math.max(Math.abs(chunkPos.y() - anchor.y()), Math.abs(chunkPos.z() - anchor.z())));
+            nearest = Math.min(nearest, distance);
+        }
+        return nearest;
+    }
+
+    private static final class CacheEntry {
+        private long bytes;
+        private long lastAccess;
+
+        /**
+         * The eviction score computed by the last selection; higher scores are evicted first.
+         */
+        private long score;
+    }
+}
@@ -46,6 +46,17 @@ public abstract class DetectorData {
      */
     private BlockRegion nonAerialRange;
 
+    /**
+     * If true, the detector is served from per-chunk occurrence lists that are saved alongside the chunk storage,
+     * instead of testing every block within its range on each scan.
+     */
+    private boolean chunkIndexed;
+
+    /**
+     * The distance, in blocks, the closest block has to move past a period boundary before the period changes.
+     */
+    private int hysteresis = 1;
+
     protected DetectorData(String detectorUri, Set<String> detectableUris, BlockRegion range) {
         this.detectorUri = detectorUri;
         this.detectableUris = detectableUris;
@@ -76,8 +87,36 @@ public abstract class DetectorData {
         }
     }
 
+    public boolean isChunkIndexed() {
+        return chunkIndexed;
+    }
+
+    public void setChunkIndexed(boolean chunkIndexed) {
+        this.chunkIndexed = chunkIndexed;
+    }
+
+    public int getHysteresis() {
+        return hysteresis;
+    }
+
+    /**
+     * Sets the hysteresis band. Must be called before the detector is added to the detector system, which builds its
+     * period lookup from it.
+     *
+     * @param hysteresis the distance in blocks, 0 to change the period at every boundary.
+     * @throws IllegalArgumentException if the distance is negative.
+     */
+    public void setHysteresis(int hysteresis) {
+        if (hysteresis < 0) {
+            throw new IllegalArgumentException("Hysteresis must not be negative: " + hysteresis);
+        }
+        this.hysteresis = hysteresis;
+    }
+
     /**
      * Get the period of the run() function being called.
+     * <p>
+     * Evaluated for every distance within the detector's range when it is registered, see {@link PeriodTable}.
      *
      * @param minDistance the closest distance to a detectable block within the range of the detector
      * @return the period of the signal
@@ -28,10 +28,11 @@ import java.util.Set;
  * A DetectorData implementation containing information about an audio asset.
  * <p>
  * Plays the asset with a frequency scaling depending on the distance to the closest block,
- * ranging from frequencyLow to frequencyHigh with four possible values.
+ * ranging from frequencyLow to frequencyHigh along a signal curve, by default linearly with four possible values.
  */
 public class LinearAudioDetectorImpl extends DetectorData {
     private static final Logger logger = LoggerFactory.getLogger(LinearAudioDetectorImpl.class);
+    private static final int DEFAULT_SCALE_COUNT = 4;
 
     /**
      * The audio manager. Should be injected in the custom system implementation.
@@ -46,20 +47,35 @@ public class LinearAudioDetectorImpl extends DetectorData {
     private int frequencyLow;
     private int frequencyHigh;
 
-    private int scaleCount = 4;
+    /**
+     * Maps the distance to the closest block, relative to the diagonal of the range, to the frequency.
+     */
+    private SignalCurve curve;
+
+    /**
+     * The length of the diagonal of the range.
+     */
+    private float rangeLength;
 
     public LinearAudioDetectorImpl(String detectorUri, Set<String> detectableUris, BlockRegion range, AudioManager audioManager, String audioUri, int frequencyLow, int frequencyHigh) {
+        this(detectorUri, detectableUris, range, audioManager, audioUri, frequencyLow, frequencyHigh, SignalCurve.stepped(DEFAULT_SCALE_COUNT));
+    }
+
+    public LinearAudioDetectorImpl(String detectorUri, Set<String> detectableUris, BlockRegion range, AudioManager audioManager, String audioUri,
+                                   int frequencyLow, int frequencyHigh, SignalCurve curve) {
         super(detectorUri, detectableUris, range);
         this.audioManager = audioManager;
         this.audioUri = audioUri;
         this.frequencyLow = frequencyLow;
         this.frequencyHigh = frequencyHigh;
+        this.curve = curve;
+        this.rangeLength = (float) range.getSize(new Vector3i()).length();
     }
 
     @Override
     public int getPeriod(int minDistance) {
-        int scale = (int) Math.floor(scaleCount * minDistance / getRange().getSize(new Vector3i()).length());
-        return frequencyLow + (frequencyHigh - frequencyLow) * scale / scaleCount;
+        float distance = Math.min(1, minDistance / rangeLength);
+        return frequencyLow + (int) ((frequencyHigh - frequencyLow) * curve.apply(distance));
     }
 
     @Override
@@ -0,0 +1,110 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.joml.Vector3i;
+
+/**
+ * A lookup table from the squared distance to the closest block to a detector's period.
+ * <p>
+ * Built from {@link DetectorData#getPeriod(int)} when the detector is registered, so scans avoid the square root and
+ * the period computation. The table also stores the range of periods within the detector's hysteresis band around
+ * every distance, so a period is only changed once the distance has left the band of the current one.
+ */
+public final class PeriodTable {
+    /**
+     * The maximum number of entries; tables of larger ranges index coarser squared distances.
+     */
+    private static final int MAX_ENTRIES = 1 << 16;
+
+    /**
+     * The number of bits the squared distance is shifted right by to get the index.
+     */
+    private final int shift;
+
+    private final int[] periods;
+
+    /**
+     * The lowest and highest period within the hysteresis band around every entry.
+     */
+    private final int[] minPeriods;
+    private final int[] maxPeriods;
+
+    private PeriodTable(int shift, int[] periods, int[] minPeriods, int[] maxPeriods) {
+        this.shift = shift;
+        this.periods = periods;
+        this.minPeriods = minPeriods;
+        this.maxPeriods = maxPeriods;
+    }
+
+    /**
+     * Builds the table of a detector, covering distances up to the diagonal of its range; longer distances use the
+     * period of the diagonal.
+     *
+     * @throws IllegalArgumentException if the detector's hysteresis is negative.
+     */
+    public static PeriodTable of(DetectorData data) {
+        long diagonal = (long) Math.ceil(Math.sqrt((double) data.getRange().getSize(new Vector3i()).lengthSquared()));
+        long maxSquaredDistance = diagonal * diagonal;
+        int shift = 0;
+        while ((maxSquaredDistance >> shift) >= MAX_ENTRIES) {
+            shift++;
+        }
+        int entries = (int) (maxSquaredDistance >> shift) + 1;
+        int band = data.getHysteresis();
+        if (band < 0) {
+            throw new IllegalArgumentException("Hysteresis must not be negative: " + band);
+        }
+
+        // Evaluate the detector once for every whole distance the entries and bands may refer to.
+        int maxDistance = (int) Math.sqrt((double) ((long) (entries - 1) << shift)) + band;
+        int[] byDistance = new int[maxDistance + 1];
+        for (int distance = 0; distance <= maxDistance; distance++) {
+            byDistance[distance] = data.getPeriod(distance);
+        }
+
+        int[] periods = new int[entries];
+        int[] minPeriods = new int[entries];
+        int[] maxPeriods = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            int distance = (int) Math.sqrt((double) ((long) i << shift));
+            periods[i] = byDistance[distance];
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int d = Math.max(0, distance - band); d <= distance + band; d++) {
+                min = Math.min(min, byDistance[d]);
+                max = Math.max(max, byDistance[d]);
+            }
+            minPeriods[i] = min;
+            maxPeriods[i] = max;
+        }
+        return new PeriodTable(shift, periods, minPeriods, maxPeriods);
+    }
+
+    private int index(long squaredDistance) {
+        return (int) Math.min(Math.max(squaredDistance, 0) >> shift, periods.length - 1);
+    }
+
+    /**
+     * @param squaredDistance the squared distance to the closest detectable block
+     * @return the period of the signal, ignoring hysteresis
+     */
+    public int getPeriod(long squaredDistance) {
+        return periods[index(squaredDistance)];
+    }
+
+    /**
+     * Get the period of the signal, keeping the current period while the distance is within its hysteresis band.
+     *
+     * @param squaredDistance the squared distance to the closest detectable block
+     * @param currentPeriod the period currently in use, or null if there is none
+     * @return the period of the signal
+     */
+    public int getPeriod(long squaredDistance, Integer currentPeriod) {
+        int index = index(squaredDistance);
+        if (currentPeriod != null && currentPeriod >= minPeriods[index] && currentPeriod <= maxPeriods[index]) {
+            return currentPeriod;
+        }
+        return periods[index];
+    }
+}
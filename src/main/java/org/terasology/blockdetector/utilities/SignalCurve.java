@@ -0,0 +1,58 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+/**
+ * Maps a normalised distance to a normalised signal.
+ * <p>
+ * Both values range from 0 to 1; a signal of 0 is the fastest (closest) one and a signal of 1 the slowest.
+ */
+@FunctionalInterface
+public interface SignalCurve {
+    /**
+     * @param distance the distance to the closest block divided by the detector's range, clamped to [0, 1]
+     * @return the signal, within [0, 1]
+     */
+    float apply(float distance);
+
+    /**
+     * @param steps the number of steps, at least 1
+     * @return a curve rounding this curve's signal down to one of the specified number of steps.
+     * @throws IllegalArgumentException if there are fewer than 1 steps.
+     */
+    default SignalCurve quantized(int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Steps must be at least 1: " + steps);
+        }
+        return distance -> (float) Math.floor(steps * apply(distance)) / steps;
+    }
+
+    /**
+     * @return a curve whose signal equals the distance.
+     */
+    static SignalCurve linear() {
+        return distance -> distance;
+    }
+
+    /**
+     * @param steepness how strongly the signal favours short distances; must not be 0
+     * @return a curve whose signal grows exponentially with the distance.
+     * @throws IllegalArgumentException if the steepness is 0 or not finite.
+     */
+    static SignalCurve exponential(float steepness) {
+        if (steepness == 0 || !Float.isFinite(steepness)) {
+            throw new IllegalArgumentException("Steepness must be finite and non-zero: " + steepness);
+        }
+        float scale = (float) Math.expm1(steepness);
+        return distance -> (float) Math.expm1(steepness * distance) / scale;
+    }
+
+    /**
+     * @param steps the number of steps, at least 1
+     * @return a linear curve rounded down to the specified number of steps.
+     * @throws IllegalArgumentException if there are fewer than 1 steps.
+     */
+    static SignalCurve stepped(int steps) {
+        return linear().quantized(steps);
+    }
+}
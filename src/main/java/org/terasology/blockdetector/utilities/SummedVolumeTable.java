@@ -0,0 +1,146 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.terasology.engine.world.chunks.Chunks;
+
+/**
+ * A 3D prefix sum of the detectable blocks within one chunk.
+ * <p>
+ * Entry (x, y, z) holds the number of detectable blocks with chunk-relative coordinates below x, y and z, so the number
+ * of detectable blocks within any box of the chunk is computed from eight entries.
+ * <p>
+ * Entries are stored as chars, i.e. modulo 2^16. The sums and differences of a box query are exact modulo 2^16 as
+ * well, which is exact for every box smaller than the chunk; the count of the whole chunk, which may be 2^16, is kept
+ * separately. Chunks without detectable blocks share {@link #EMPTY}.
+ */
+public final class SummedVolumeTable {
+    private static final int STRIDE_X = Chunks.SIZE_X + 1;
+    private static final int STRIDE_Y = Chunks.SIZE_Y + 1;
+    private static final int STRIDE_Z = Chunks.SIZE_Z + 1;
+
+    /**
+     * The number of bytes used by a single table, other than {@link #EMPTY}.
+     */
+    public static final int BYTES = STRIDE_X * STRIDE_Y * STRIDE_Z * Character.BYTES;
+
+    /**
+     * The shared table of chunks without detectable blocks.
+     */
+    public static final SummedVolumeTable EMPTY = new SummedVolumeTable(new char[0]);
+
+    /**
+     * The prefix sums modulo 2^16, or an empty array for {@link #EMPTY}.
+     */
+    private final char[] sums;
+
+    /**
+     * The number of detectable blocks within the whole chunk.
+     */
+    private int total;
+
+    private SummedVolumeTable(char[] sums) {
+        this.sums = sums;
+    }
+
+    /**
+     * Builds the table of the blocks in an occurrence list.
+     *
+     * @return the table, or {@link #EMPTY} if the list is empty.
+     */
+    public static SummedVolumeTable of(ChunkOccurrences occurrences) {
+        if (occurrences.size() == 0) {
+            return EMPTY;
+        }
+
+        SummedVolumeTable table = new SummedVolumeTable(new char[STRIDE_X * STRIDE_Y * STRIDE_Z]);
+        char[] sums = table.sums;
+        for (int i = 0; i < occurrences.size(); i++) {
+            int packed = occurrences.get(i);
+            sums[index(ChunkOccurrences.unpackX(packed) + 1, ChunkOccurrences.unpackY(packed) + 1,
+                    ChunkOccurrences.unpackZ(packed) + 1)]++;
+        }
+        table.total = occurrences.size();
+
+        for (int z = 1; z < STRIDE_Z; z++) {
+            for (int y = 1; y < STRIDE_Y; y++) {
+                for (int x = 1; x < STRIDE_X; x++) {
+                    sums[index(x, y, z)] += sums[index(x - 1, y, z)];
+                }
+            }
+        }
+        for (int z = 1; z < STRIDE_Z; z++) {
+            for (int y = 1; y < STRIDE_Y; y++) {
+                for (int x = 1; x < STRIDE_X; x++) {
+                    sums[index(x, y, z)] += sums[index(x, y - 1, z)];
+                }
+            }
+        }
+        for (int z = 1; z < STRIDE_Z; z++) {
+            for (int y = 1; y < STRIDE_Y; y++) {
+                for (int x = 1; x < STRIDE_X; x++) {
+                    sums[index(x, y, z)] += sums[index(x, y, z - 1)];
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int index(int x, int y, int z) {
+        return x + STRIDE_X * (y + STRIDE_Y * z);
+    }
+
+    /**
+     * @return the number of bytes used by this table.
+     */
+    public int getSizeInBytes() {
+        return sums.length * Character.BYTES;
+    }
+
+    /**
+     * Counts the detectable blocks within a box of chunk-relative coordinates.
+     *
+     * @return the number of detectable blocks, or 0 if the box is empty.
+     */
+    public int count(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (this == EMPTY || minX > maxX || minY > maxY || minZ > maxZ) {
+            return 0;
+        }
+        int x1 = minX;
+        int y1 = minY;
+        int z1 = minZ;
+        int x2 = maxX + 1;
+        int y2 = maxY + 1;
+        int z2 = maxZ + 1;
+        if (x1 == 0 && y1 == 0 && z1 == 0 && x2 == Chunks.SIZE_X && y2 == Chunks.SIZE_Y && z2 == Chunks.SIZE_Z) {
+            return total;
+        }
+        return (sums[index(x2, y2, z2)]
+                - sums[index(x1, y2, z2)] - sums[index(x2, y1, z2)] - sums[index(x2, y2, z1)]
+                + sums[index(x1, y1, z2)] + sums[index(x1, y2, z1)] + sums[index(x2, y1, z1)]
+                - sums[index(x1, y1, z1)]) & 0xffff;
+    }
+
+    /**
+     * Updates the table after a block has become detectable or stopped being detectable.
+     * <p>
+     * {@link #EMPTY} is never modified; a new table is returned instead.
+     *
+     * @param delta 1 if the block at the chunk-relative coordinates became detectable, -1 if it stopped being.
+     * @return the updated table, which replaces this one.
+     */
+    public SummedVolumeTable add(int x, int y, int z, int delta) {
+        SummedVolumeTable table = this == EMPTY ? new SummedVolumeTable(new char[STRIDE_X * STRIDE_Y * STRIDE_Z]) : this;
+        char[] tableSums = table.sums;
+        for (int k = z + 1; k < STRIDE_Z; k++) {
+            for (int j = y + 1; j < STRIDE_Y; j++) {
+                int row = index(0, j, k);
+                for (int i = x + 1; i < STRIDE_X; i++) {
+                    tableSums[row + i] += delta;
+                }
+            }
+        }
+        table.total += delta;
+        return table;
+    }
+}
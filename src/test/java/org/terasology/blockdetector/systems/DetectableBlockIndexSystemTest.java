@@ -0,0 +1,154 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.systems;
+
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.terasology.blockdetector.utilities.BlockMatcher;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.world.OnChangedBlock;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class DetectableBlockIndexSystemTest {
+    private static final String ORE_URI = "BlockDetector:ore";
+    private static final short ORE_ID = 7;
+    private static final short AIR_ID = 0;
+
+    /**
+     * The world positions of the ore blocks; all other blocks are air.
+     */
+    private final Set<Vector3i> ores = Sets.newHashSet(
+            new Vector3i(-1, 5, 0),
+            new Vector3i(31, 5, 0),
+            new Vector3i(32, 5, 0),
+            new Vector3i(40, 5, 0),
+            new Vector3i(0, Chunks.SIZE_Y, 0),
+            new Vector3i(0, 5, -1));
+
+    private final BlockMatcher matcher = new BlockMatcher(Set.of(ORE_URI));
+
+    @Mock
+    private ChunkProvider chunkProvider;
+
+    @Mock
+    private BlockManager blockManager;
+
+    @Mock
+    private Time time;
+
+    @InjectMocks
+    private DetectableBlockIndexSystem indexSystem;
+
+    private static Block mockBlock(String uri, short id) {
+        Block block = mock(Block.class);
+        when(block.getURI()).thenReturn(new BlockUri(uri));
+        when(block.getId()).thenReturn(id);
+        return block;
+    }
+
+    private Chunk mockChunk(Vector3ic chunkPos) {
+        // Chunks are read block by block, so answer directly instead of stubbing and recording every call.
+        return mock(Chunk.class, withSettings().stubOnly().defaultAnswer(invocation -> {
+            Vector3i position = new Vector3i(
+                    chunkPos.x() * Chunks.SIZE_X + (int) invocation.getArgument(0),
+                    chunkPos.y() * Chunks.SIZE_Y + (int) invocation.getArgument(1),
+                    chunkPos.z() * Chunks.SIZE_Z + (int) invocation.getArgument(2));
+            return ores.contains(position) ? ORE_ID : AIR_ID;
+        }));
+    }
+
+    private Block air;
+    private Block ore;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        air = mockBlock("engine:air", AIR_ID);
+        ore = mockBlock(ORE_URI, ORE_ID);
+        when(blockManager.getBlock(any(BlockUri.class))).thenAnswer(invocation ->
+                invocation.getArgument(0).equals(ore.getURI()) ? ore : air);
+        when(chunkProvider.getChunk(any(Vector3ic.class))).thenAnswer(invocation ->
+                mockChunk(new Vector3i((Vector3ic) invocation.getArgument(0))));
+    }
+
+    /**
+     * Scanning a region spanning several chunks must find exactly the matched blocks within the region.
+     */
+    @Test
+    public void scanAcrossChunksTest() {
+        Set<Vector3i> found = Sets.newHashSet();
+        indexSystem.scanOccurrences(matcher, new BlockRegion(-2, 5, 0, 35, Chunks.SIZE_Y, 0), found);
+
+        assertEquals(Set.of(new Vector3i(-1, 5, 0), new Vector3i(31, 5, 0), new Vector3i(32, 5, 0),
+                new Vector3i(0, Chunks.SIZE_Y, 0)), found);
+    }
+
+    /**
+     * Chunks that aren't loaded must be skipped.
+     */
+    @Test
+    public void unloadedChunkTest() {
+        when(chunkProvider.getChunk(any(Vector3ic.class))).thenReturn(null);
+
+        Set<Vector3i> found = Sets.newHashSet();
+        indexSystem.scanOccurrences(matcher, new BlockRegion(-2, 5, 0, 35, 5, 0), found);
+
+        assertEquals(Set.of(), found);
+    }
+
+    /**
+     * Counting a region spanning several chunks must clamp the region to every chunk and add up the counts.
+     */
+    @Test
+    public void countAcrossChunksTest() {
+        assertEquals(4, indexSystem.countOccurrences(matcher, new BlockRegion(-2, 5, 0, 35, Chunks.SIZE_Y, 0)));
+        assertEquals(3, indexSystem.countOccurrences(matcher, new BlockRegion(-1, 5, 0, 32, 5, 0)));
+        assertEquals(2, indexSystem.countOccurrences(matcher, new BlockRegion(0, 0, -1, 31, 5, 0)));
+        assertEquals(1, indexSystem.countOccurrences(matcher, new BlockRegion(31, 5, 0, 31, 5, 0)));
+        assertEquals(0, indexSystem.countOccurrences(matcher, new BlockRegion(33, 5, 0, 39, 5, 0)));
+        assertEquals(5, indexSystem.countOccurrences(matcher, new BlockRegion(-32, 0, 0, 63, 2 * Chunks.SIZE_Y - 1, 31)));
+    }
+
+    /**
+     * Block changes must update the lists and counts of registered matchers.
+     */
+    @Test
+    public void blockChangeTest() {
+        BlockRegion region = new BlockRegion(-2, 5, 0, 35, 5, 0);
+        indexSystem.registerMatcher(matcher);
+        assertEquals(3, indexSystem.countOccurrences(matcher, region));
+
+        Vector3i added = new Vector3i(33, 5, 0);
+        ores.add(added);
+        indexSystem.onBlockChanged(new OnChangedBlock(added, ore, air), EntityRef.NULL);
+        Vector3i removed = new Vector3i(-1, 5, 0);
+        ores.remove(removed);
+        indexSystem.onBlockChanged(new OnChangedBlock(removed, air, ore), EntityRef.NULL);
+
+        assertEquals(3, indexSystem.countOccurrences(matcher, region));
+        Set<Vector3i> found = Sets.newHashSet();
+        indexSystem.collectOccurrences(matcher, region, found);
+        assertEquals(Set.of(new Vector3i(31, 5, 0), new Vector3i(32, 5, 0), added), found);
+    }
+}
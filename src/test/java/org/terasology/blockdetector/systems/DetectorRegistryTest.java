@@ -0,0 +1,82 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.systems;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.blockdetector.utilities.BlockMatcher;
+import org.terasology.blockdetector.utilities.DetectorData;
+import org.terasology.blockdetector.utilities.LinearAudioDetectorImpl;
+import org.terasology.blockdetector.utilities.PeriodTable;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DetectorRegistryTest {
+    private static final String DETECTOR_URI = "BlockDetector:testDetector";
+
+    private static DetectorData createDetector(String detectableUri) {
+        BlockRegion range = new BlockRegion(-10, -10, -10, 10, 10, 10);
+        return new LinearAudioDetectorImpl(DETECTOR_URI, Set.of(detectableUri), range, null, "BlockDetector:ScannerBeep", 200, 2000);
+    }
+
+    /**
+     * Adding a detector must return a new snapshot and leave the previous one unchanged.
+     */
+    @Test
+    public void withTest() {
+        DetectorData data = createDetector("CoreAssets:Snow");
+        BlockMatcher matcher = new BlockMatcher(data.getDetectableUris());
+        PeriodTable periodTable = PeriodTable.of(data);
+
+        DetectorRegistry registry = DetectorRegistry.EMPTY.with(data, matcher, periodTable);
+
+        assertTrue(DetectorRegistry.EMPTY.getDetectors().isEmpty());
+        assertSame(data, registry.getDetectorData(DETECTOR_URI));
+        assertSame(matcher, registry.getMatcher(DETECTOR_URI));
+        assertSame(periodTable, registry.getPeriodTable(DETECTOR_URI));
+        assertNull(registry.getDetectorData(null));
+    }
+
+    /**
+     * Adding a detector with a registered Uri must replace all of the previous detector's entries, including its period
+     * table when the new detector is a counting one.
+     */
+    @Test
+    public void replaceTest() {
+        DetectorData data = createDetector("CoreAssets:Snow");
+        DetectorData replacement = createDetector("CoreAssets:Stone");
+        BlockMatcher replacementMatcher = new BlockMatcher(replacement.getDetectableUris());
+        DetectorRegistry registry = DetectorRegistry.EMPTY.with(data, new BlockMatcher(data.getDetectableUris()), PeriodTable.of(data));
+
+        DetectorRegistry replaced = registry.with(replacement, replacementMatcher, null);
+
+        assertEquals(1, replaced.getDetectors().size());
+        assertSame(replacement, replaced.getDetectorData(DETECTOR_URI));
+        assertSame(replacementMatcher, replaced.getMatcher(DETECTOR_URI));
+        assertNull(replaced.getPeriodTable(DETECTOR_URI));
+        assertSame(data, registry.getDetectorData(DETECTOR_URI));
+    }
+
+    /**
+     * Removing a detector must remove all of its entries; removing an unknown one must return the same snapshot.
+     */
+    @Test
+    public void withoutTest() {
+        DetectorData data = createDetector("CoreAssets:Snow");
+        DetectorRegistry registry = DetectorRegistry.EMPTY.with(data, new BlockMatcher(data.getDetectableUris()), PeriodTable.of(data));
+
+        assertSame(registry, registry.without("BlockDetector:unknownDetector"));
+        assertSame(registry, registry.without(null));
+
+        DetectorRegistry removed = registry.without(DETECTOR_URI);
+        assertTrue(removed.getDetectors().isEmpty());
+        assertNull(removed.getMatcher(DETECTOR_URI));
+        assertNull(removed.getPeriodTable(DETECTOR_URI));
+        assertSame(data, registry.getDetectorData(DETECTOR_URI));
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockUri;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockIdMatchKernelTest {
+    private static final short STONE = 3;
+    private static final short ORE = 7;
+    private static final short HIGH_ORE = (short) 0x8001;
+    private static final short AIR = 0;
+
+    private static Block mockBlock(String uri, short id) {
+        Block block = mock(Block.class);
+        when(block.getURI()).thenReturn(new BlockUri(uri));
+        when(block.getId()).thenReturn(id);
+        return block;
+    }
+
+    /**
+     * A block manager knowing ore and high ore; any other Uri resolves to air.
+     */
+    private static BlockManager mockBlockManager() {
+        BlockManager blockManager = mock(BlockManager.class);
+        Block air = mockBlock("engine:air", AIR);
+        when(blockManager.getBlock(any(BlockUri.class))).thenReturn(air);
+        Block ore = mockBlock("test:ore", ORE);
+        when(blockManager.getBlock(new BlockUri("test:ore"))).thenReturn(ore);
+        Block highOre = mockBlock("test:highOre", HIGH_ORE);
+        when(blockManager.getBlock(new BlockUri("test:highOre"))).thenReturn(highOre);
+        return blockManager;
+    }
+
+    private static int[] match(BlockIdMatchKernel kernel, short[] row) {
+        int[] hits = new int[row.length];
+        int count = kernel.matchRow(row, 0, row.length, hits);
+        return Arrays.copyOf(hits, count);
+    }
+
+    @Test
+    public void matchRowTest() {
+        BlockIdMatchKernel kernel = BlockIdMatchKernel.resolve(new BlockMatcher(Set.of("test:ore", "test:highOre")), mockBlockManager());
+        assertTrue(kernel.isComplete());
+
+        // targets at the start and the end of the row
+        assertArrayEquals(new int[]{0, 4}, match(kernel, new short[]{ORE, STONE, STONE, AIR, ORE}));
+        // no hits
+        assertArrayEquals(new int[0], match(kernel, new short[]{STONE, AIR, STONE}));
+        // all hits
+        assertArrayEquals(new int[]{0, 1, 2}, match(kernel, new short[]{ORE, HIGH_ORE, ORE}));
+        // ids above 0x7fff are negative shorts
+        assertArrayEquals(new int[]{1}, match(kernel, new short[]{(short) 0x8000, HIGH_ORE, (short) 0xffff}));
+        assertTrue(kernel.matches(HIGH_ORE));
+        assertFalse(kernel.matches((short) 0x8000));
+        assertFalse(kernel.matches(STONE));
+    }
+
+    /**
+     * Offsets must be relative to the start of the matched part of the array.
+     */
+    @Test
+    public void matchRowOffsetTest() {
+        BlockIdMatchKernel kernel = BlockIdMatchKernel.resolve(new BlockMatcher(Set.of("test:ore")), mockBlockManager());
+        short[] ids = {ORE, ORE, STONE, ORE, STONE, ORE};
+        int[] hits = new int[3];
+        assertEquals(1, kernel.matchRow(ids, 2, 3, hits));
+        assertEquals(1, hits[0]);
+    }
+
+    @Test
+    public void unresolvedTargetTest() {
+        BlockIdMatchKernel kernel = BlockIdMatchKernel.resolve(new BlockMatcher(Set.of("test:ore", "test:unknown")), mockBlockManager());
+        assertFalse(kernel.isComplete());
+        // unresolved targets must not match what the block manager returned instead
+        assertArrayEquals(new int[]{1}, match(kernel, new short[]{AIR, ORE}));
+    }
+}
@@ -0,0 +1,55 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockUri;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockMatcherTest {
+
+    /**
+     * The fingerprint keys stored lists, so it must not depend on the order or case of the Uris.
+     */
+    @Test
+    public void fingerprintTest() {
+        BlockMatcher matcher = new BlockMatcher(Sets.newLinkedHashSet(List.of("CoreAssets:Snow", "CoreAssets:Stone")));
+        BlockMatcher reordered = new BlockMatcher(Sets.newLinkedHashSet(List.of("CoreAssets:Stone", "CoreAssets:Snow")));
+        BlockMatcher lowerCase = new BlockMatcher(Set.of("coreassets:snow", "coreassets:stone"));
+
+        assertEquals(matcher.getFingerprint(), reordered.getFingerprint());
+        assertEquals(matcher.getFingerprint(), lowerCase.getFingerprint());
+        assertNotEquals(matcher.getFingerprint(), new BlockMatcher(Set.of("CoreAssets:Snow")).getFingerprint());
+        assertNotEquals(matcher.getFingerprint(), new BlockMatcher(Set.of()).getFingerprint());
+    }
+
+    /**
+     * The fingerprint of a fixed set of Uris must never change, or stored lists would be discarded.
+     */
+    @Test
+    public void fingerprintStabilityTest() {
+        assertEquals(0xcbf29ce484222325L, new BlockMatcher(Set.of()).getFingerprint());
+        assertEquals(0x232bf41d171e44e6L, new BlockMatcher(Set.of("CoreAssets:Snow")).getFingerprint());
+    }
+
+    /**
+     * Invalid Uris must be ignored rather than fail the registration.
+     */
+    @Test
+    public void matchTest() {
+        BlockMatcher matcher = new BlockMatcher(Set.of("CoreAssets:Snow", "invalid"));
+
+        assertEquals(1, matcher.getTargets().size());
+        assertTrue(matcher.matches(new BlockUri("coreassets:snow")));
+        assertFalse(matcher.matches(new BlockUri("CoreAssets:Stone")));
+        assertEquals(new BlockMatcher(Set.of("CoreAssets:Snow")).getFingerprint(), matcher.getFingerprint());
+    }
+}
@@ -0,0 +1,201 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkOccurrenceStoreTest {
+    private static final int MAGIC = 0x42444958;
+    private static final int FORMAT_VERSION = 2;
+
+    private final Vector3i chunkPos = new Vector3i(1, -2, 3);
+
+    @TempDir
+    Path directory;
+
+    private final List<ChunkOccurrenceStore> openStores = Lists.newArrayList();
+
+    @AfterEach
+    public void closeStores() {
+        openStores.forEach(ChunkOccurrenceStore::close);
+    }
+
+    /**
+     * Opens a store as a new session would.
+     */
+    private ChunkOccurrenceStore open() {
+        ChunkOccurrenceStore store = new ChunkOccurrenceStore(directory);
+        openStores.add(store);
+        return store;
+    }
+
+    private static Map<Long, ChunkOccurrences> createSections(int... positions) {
+        Map<Long, ChunkOccurrences> sections = Maps.newHashMap();
+        sections.put(1L, ChunkOccurrences.of(positions, positions.length));
+        return sections;
+    }
+
+    private static void assertSameOccurrences(ChunkOccurrences expected, ChunkOccurrences actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * Writes a chunk file by hand with a single section, then commits the save it belongs to.
+     */
+    private void writeRawFile(int magic, int version, long generation, int count, int... positions) throws IOException {
+        ChunkOccurrenceStore store = new ChunkOccurrenceStore(directory);
+        store.commitSave();
+        store.close();
+
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 12 + positions.length * Integer.BYTES);
+        buffer.putInt(magic).putInt(version).putLong(generation).putInt(1);
+        buffer.putLong(42L).putInt(count);
+        for (int position : positions) {
+            buffer.putInt(position);
+        }
+        Files.write(directory.resolve("1.-2.3.bdi"), buffer.array());
+    }
+
+    /**
+     * Lists written as part of a committed save must be read back unchanged, also by a new store.
+     */
+    @Test
+    public void roundTripTest() {
+        Map<Long, ChunkOccurrences> sections = Maps.newHashMap();
+        sections.put(1L, ChunkOccurrences.of(new int[]{0, 17, 4000}, 3));
+        sections.put(-7L, ChunkOccurrences.of(new int[0], 0));
+
+        ChunkOccurrenceStore store = new ChunkOccurrenceStore(directory);
+        store.write(chunkPos, sections);
+        store.commitSave();
+        store.close();
+
+        Map<Long, ChunkOccurrences> read = open().read(chunkPos);
+        assertEquals(sections.keySet(), read.keySet());
+        for (Long fingerprint : sections.keySet()) {
+            assertSameOccurrences(sections.get(fingerprint), read.get(fingerprint));
+        }
+        assertTrue(open().read(new Vector3i()).isEmpty());
+    }
+
+    /**
+     * Lists must be read back right after they were queued for writing, before and after they are on disk, and
+     * independently of the lists they were copied from.
+     */
+    @Test
+    public void readBackTest() {
+        Map<Long, ChunkOccurrences> sections = createSections(5, 9);
+        ChunkOccurrenceStore store = open();
+        store.write(chunkPos, sections);
+        sections.get(1L).add(7);
+
+        assertTrue(store.contains(chunkPos));
+        assertEquals(2, store.read(chunkPos).get(1L).size());
+        store.read(chunkPos).get(1L).add(11);
+        assertEquals(2, store.read(chunkPos).get(1L).size());
+
+        store.write(chunkPos, Maps.newHashMap());
+        assertFalse(store.contains(chunkPos));
+        assertTrue(store.read(chunkPos).isEmpty());
+    }
+
+    /**
+     * Lists of a save that was never committed must be ignored.
+     */
+    @Test
+    public void uncommittedTest() {
+        ChunkOccurrenceStore store = new ChunkOccurrenceStore(directory);
+        store.write(chunkPos, createSections(5));
+        store.close();
+
+        assertTrue(open().read(chunkPos).isEmpty());
+    }
+
+    /**
+     * Lists of an interrupted save must stay invalid after later saves commit, even if their chunk is never written
+     * again.
+     */
+    @Test
+    public void interruptedSaveTest() {
+        Vector3i otherChunkPos = new Vector3i(0, 0, 0);
+        ChunkOccurrenceStore first = new ChunkOccurrenceStore(directory);
+        first.write(otherChunkPos, createSections(1));
+        first.commitSave();
+        first.write(chunkPos, createSections(5));
+        first.close();
+
+        ChunkOccurrenceStore second = new ChunkOccurrenceStore(directory);
+        assertFalse(second.contains(chunkPos));
+        second.commitSave();
+        second.commitSave();
+        second.close();
+
+        ChunkOccurrenceStore third = open();
+        assertTrue(third.read(chunkPos).isEmpty());
+        assertEquals(1, third.read(otherChunkPos).get(1L).size());
+    }
+
+    @Test
+    public void validFileTest() throws IOException {
+        writeRawFile(MAGIC, FORMAT_VERSION, 1, 2, 3, 8);
+        assertEquals(2, open().read(chunkPos).get(42L).size());
+    }
+
+    @Test
+    public void wrongMagicTest() throws IOException {
+        writeRawFile(MAGIC + 1, FORMAT_VERSION, 1, 2, 3, 8);
+        assertTrue(open().read(chunkPos).isEmpty());
+    }
+
+    @Test
+    public void wrongVersionTest() throws IOException {
+        writeRawFile(MAGIC, FORMAT_VERSION + 1, 1, 2, 3, 8);
+        assertTrue(open().read(chunkPos).isEmpty());
+    }
+
+    /**
+     * Corrupt sections must be rejected instead of throwing.
+     */
+    @Test
+    public void corruptSectionTest() throws IOException {
+        // a count whose byte size overflows an int
+        writeRawFile(MAGIC, FORMAT_VERSION, 1, 1 << 30, 3, 8);
+        assertTrue(open().read(chunkPos).isEmpty());
+
+        // a count longer than the file
+        writeRawFile(MAGIC, FORMAT_VERSION, 1, 3, 3, 8);
+        assertTrue(open().read(chunkPos).isEmpty());
+
+        // positions out of order
+        writeRawFile(MAGIC, FORMAT_VERSION, 1, 2, 8, 3);
+        assertTrue(open().read(chunkPos).isEmpty());
+
+        // a position outside the chunk
+        writeRawFile(MAGIC, FORMAT_VERSION, 1, 2, 3, Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z);
+        assertTrue(open().read(chunkPos).isEmpty());
+
+        // a negative position
+        writeRawFile(MAGIC, FORMAT_VERSION, 1, 2, -1, 3);
+        assertTrue(open().read(chunkPos).isEmpty());
+    }
+}
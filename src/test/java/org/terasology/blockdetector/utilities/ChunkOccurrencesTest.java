@@ -0,0 +1,77 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.nio.IntBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkOccurrencesTest {
+
+    private static int[] toArray(ChunkOccurrences occurrences) {
+        int[] values = new int[occurrences.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = occurrences.get(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void packTest() {
+        int packed = ChunkOccurrences.pack(Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1);
+        assertEquals(Chunks.SIZE_X - 1, ChunkOccurrences.unpackX(packed));
+        assertEquals(Chunks.SIZE_Y - 1, ChunkOccurrences.unpackY(packed));
+        assertEquals(Chunks.SIZE_Z - 1, ChunkOccurrences.unpackZ(packed));
+        assertEquals(Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z - 1, packed);
+    }
+
+    /**
+     * Adding and removing must keep the list sorted and reject duplicates and missing positions.
+     */
+    @Test
+    public void addRemoveTest() {
+        ChunkOccurrences occurrences = ChunkOccurrences.of(new int[0], 0);
+
+        assertTrue(occurrences.add(5));
+        assertTrue(occurrences.add(1));
+        assertTrue(occurrences.add(9));
+        assertFalse(occurrences.add(5));
+        assertArrayEquals(new int[]{1, 5, 9}, toArray(occurrences));
+
+        assertTrue(occurrences.remove(5));
+        assertFalse(occurrences.remove(5));
+        assertFalse(occurrences.remove(2));
+        assertArrayEquals(new int[]{1, 9}, toArray(occurrences));
+
+        for (int i = 100; i < 200; i++) {
+            assertTrue(occurrences.add(i));
+        }
+        assertEquals(102, occurrences.size());
+    }
+
+    /**
+     * A buffer-backed list must read from the buffer, and be copied to the heap on the first modification without
+     * changing the buffer.
+     */
+    @Test
+    public void materialiseTest() {
+        IntBuffer buffer = IntBuffer.wrap(new int[]{2, 4, 6});
+        ChunkOccurrences occurrences = ChunkOccurrences.wrap(buffer);
+        assertEquals(3, occurrences.size());
+        assertEquals(3 * Integer.BYTES, occurrences.getSizeInBytes());
+        assertArrayEquals(new int[]{2, 4, 6}, toArray(occurrences));
+
+        assertTrue(occurrences.add(3));
+        assertArrayEquals(new int[]{2, 3, 4, 6}, toArray(occurrences));
+        assertArrayEquals(new int[]{2, 4, 6}, buffer.array());
+
+        occurrences.materialise();
+        assertArrayEquals(new int[]{2, 3, 4, 6}, toArray(occurrences));
+    }
+}
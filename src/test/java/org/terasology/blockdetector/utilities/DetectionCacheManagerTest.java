@@ -0,0 +1,122 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DetectionCacheManagerTest {
+
+    /**
+     * The used bytes must follow every update and removal, and chunks without state must not be tracked.
+     */
+    @Test
+    public void accountingTest() {
+        DetectionCacheManager cache = new DetectionCacheManager(1000);
+
+        cache.update(new Vector3i(0, 0, 0), 100, 0);
+        cache.update(new Vector3i(1, 0, 0), 200, 0);
+        assertEquals(300, cache.getUsedBytes());
+        assertEquals(2, cache.getEntryCount());
+
+        cache.update(new Vector3i(0, 0, 0), 150, 1);
+        assertEquals(350, cache.getUsedBytes());
+
+        cache.update(new Vector3i(1, 0, 0), 0, 2);
+        assertEquals(150, cache.getUsedBytes());
+        assertEquals(1, cache.getEntryCount());
+
+        cache.remove(new Vector3i(0, 0, 0));
+        cache.remove(new Vector3i(5, 0, 0));
+        assertEquals(0, cache.getUsedBytes());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    /**
+     * Nothing must be evicted within the budget, and eviction must stop as soon as the budget is met again.
+     */
+    @Test
+    public void budgetTest() {
+        DetectionCacheManager cache = new DetectionCacheManager(300);
+        for (int x = 0; x < 3; x++) {
+            cache.update(new Vector3i(x, 0, 0), 100, 0);
+        }
+        assertTrue(cache.selectEvictions(Collections.emptyList(), 10, chunkPos -> true).isEmpty());
+
+        for (int x = 3; x < 5; x++) {
+            cache.update(new Vector3i(x, 0, 0), 100, 0);
+        }
+        List<Vector3i> evictions = cache.selectEvictions(Collections.emptyList(), 10, chunkPos -> true);
+        assertEquals(2, evictions.size());
+        assertEquals(300, cache.getUsedBytes());
+        assertEquals(3, cache.getEntryCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(200, cache.getEvictedBytes());
+
+        cache.update(new Vector3i(5, 0, 0), 150, 20);
+        cache.selectEvictions(Collections.emptyList(), 30, chunkPos -> true);
+        assertEquals(4, cache.getEvictionCount());
+        assertEquals(400, cache.getEvictedBytes());
+    }
+
+    /**
+     * Chunks far from the anchors must be evicted before near ones, and among equally distant chunks the least
+     * recently used first.
+     */
+    @Test
+    public void orderTest() {
+        DetectionCacheManager cache = new DetectionCacheManager(100);
+        Vector3i near = new Vector3i(1, 0, 0);
+        Vector3i nearOlder = new Vector3i(0, 1, 0);
+        Vector3i far = new Vector3i(10, 0, 0);
+        cache.update(near, 100, 0);
+        cache.update(far, 100, 5000);
+        cache.update(nearOlder, 100, -1000);
+
+        List<Vector3i> anchors = Collections.singletonList(new Vector3i(0, 0, 0));
+        assertEquals(List.of(far, nearOlder), cache.selectEvictions(anchors, 10000, chunkPos -> true));
+    }
+
+    /**
+     * Chunks used at the current time and chunks that can't be evicted yet must be skipped, even over budget.
+     */
+    @Test
+    public void protectedTest() {
+        DetectionCacheManager cache = new DetectionCacheManager(0);
+        Vector3i current = new Vector3i(0, 0, 0);
+        Vector3i pinned = new Vector3i(1, 0, 0);
+        Vector3i old = new Vector3i(2, 0, 0);
+        cache.update(current, 100, 10);
+        cache.update(pinned, 100, 0);
+        cache.update(old, 100, 0);
+
+        List<Vector3i> evictions = cache.selectEvictions(Collections.emptyList(), 10, chunkPos -> !chunkPos.equals(pinned));
+        assertEquals(List.of(old), evictions);
+        assertEquals(200, cache.getUsedBytes());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    /**
+     * After a selection that couldn't get back within the budget, selections must be skipped for a while rather than
+     * rescanning the chunks that can't be evicted on every query.
+     */
+    @Test
+    public void retryDelayTest() {
+        DetectionCacheManager cache = new DetectionCacheManager(100);
+        Vector3i pinned = new Vector3i(0, 0, 0);
+        Vector3i old = new Vector3i(1, 0, 0);
+        cache.update(pinned, 100, 0);
+        cache.update(old, 100, 0);
+
+        assertTrue(cache.selectEvictions(Collections.emptyList(), 10, chunkPos -> false).isEmpty());
+        assertTrue(cache.selectEvictions(Collections.emptyList(), 20, chunkPos -> true).isEmpty());
+        assertEquals(List.of(old), cache.selectEvictions(Collections.emptyList(), 2000, chunkPos -> !chunkPos.equals(pinned)));
+        assertEquals(100, cache.getUsedBytes());
+    }
+}
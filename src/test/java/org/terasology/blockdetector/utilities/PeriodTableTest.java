@@ -0,0 +1,81 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PeriodTableTest {
+
+    private static LinearAudioDetectorImpl createDetector(int hysteresis) {
+        BlockRegion range = new BlockRegion(-40, -40, -40, 40, 40, 40);
+        LinearAudioDetectorImpl data = new LinearAudioDetectorImpl("BlockDetector:testDetector", Set.of("engine:air"), range,
+                null, "BlockDetector:ScannerBeep", 200, 2000);
+        data.setHysteresis(hysteresis);
+        return data;
+    }
+
+    /**
+     * Without a current period, the table must return the same period as the detector for every whole distance.
+     */
+    @Test
+    public void lookupTest() {
+        LinearAudioDetectorImpl data = createDetector(1);
+        PeriodTable table = PeriodTable.of(data);
+
+        for (int distance = 0; distance < 150; distance++) {
+            assertEquals(data.getPeriod(distance), table.getPeriod((long) distance * distance));
+            assertEquals(data.getPeriod(distance), table.getPeriod((long) distance * distance, null));
+        }
+    }
+
+    /**
+     * Moving back and forth by one block across a period boundary must keep the current period, while moving
+     * past the hysteresis band must change it.
+     */
+    @Test
+    public void hysteresisTest() {
+        LinearAudioDetectorImpl data = createDetector(1);
+        PeriodTable table = PeriodTable.of(data);
+
+        int boundary = 1;
+        while (data.getPeriod(boundary) == data.getPeriod(boundary - 1)) {
+            boundary++;
+        }
+        int nearPeriod = data.getPeriod(boundary - 1);
+        int farPeriod = data.getPeriod(boundary);
+
+        long squaredBoundary = (long) boundary * boundary;
+        long squaredBeforeBoundary = (long) (boundary - 1) * (boundary - 1);
+        assertEquals(nearPeriod, table.getPeriod(squaredBoundary, nearPeriod));
+        assertEquals(farPeriod, table.getPeriod(squaredBeforeBoundary, farPeriod));
+        assertEquals(farPeriod, table.getPeriod((long) (boundary + 1) * (boundary + 1), nearPeriod));
+
+        PeriodTable noHysteresis = PeriodTable.of(createDetector(0));
+        assertEquals(farPeriod, noHysteresis.getPeriod(squaredBoundary, nearPeriod));
+    }
+
+    /**
+     * Negative hysteresis bands must be rejected rather than silently ignored.
+     */
+    @Test
+    public void negativeHysteresisTest() {
+        assertThrows(IllegalArgumentException.class, () -> createDetector(-1));
+    }
+
+    /**
+     * Curves that can't produce a signal must be rejected when they are created.
+     */
+    @Test
+    public void invalidCurveTest() {
+        assertThrows(IllegalArgumentException.class, () -> SignalCurve.stepped(0));
+        assertThrows(IllegalArgumentException.class, () -> SignalCurve.linear().quantized(-1));
+        assertThrows(IllegalArgumentException.class, () -> SignalCurve.exponential(0));
+        assertEquals(0.5f, SignalCurve.stepped(2).apply(0.75f));
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.blockdetector.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SummedVolumeTableTest {
+
+    /**
+     * Counts the packed positions within a box by testing every one of them.
+     */
+    private static int bruteForceCount(TreeSet<Integer> positions, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int count = 0;
+        for (int packed : positions) {
+            int x = ChunkOccurrences.unpackX(packed);
+            int y = ChunkOccurrences.unpackY(packed);
+            int z = ChunkOccurrences.unpackZ(packed);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static ChunkOccurrences toOccurrences(TreeSet<Integer> positions) {
+        return ChunkOccurrences.of(positions.stream().mapToInt(Integer::intValue).toArray(), positions.size());
+    }
+
+    /**
+     * Builds a table from random blocks, then changes some blocks, and checks that random box counts
+     * match a brute force count after both steps.
+     */
+    @Test
+    public void countTest() {
+        Random random = new Random(42);
+        TreeSet<Integer> positions = new TreeSet<>();
+        for (int i = 0; i < 500; i++) {
+            positions.add(ChunkOccurrences.pack(random.nextInt(Chunks.SIZE_X), random.nextInt(Chunks.SIZE_Y), random.nextInt(Chunks.SIZE_Z)));
+        }
+        SummedVolumeTable table = SummedVolumeTable.of(toOccurrences(positions));
+
+        assertEquals(positions.size(), table.count(0, 0, 0, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+        assertRandomBoxes(random, positions, table);
+
+        for (int i = 0; i < 50; i++) {
+            int x = random.nextInt(Chunks.SIZE_X);
+            int y = random.nextInt(Chunks.SIZE_Y);
+            int z = random.nextInt(Chunks.SIZE_Z);
+            int packed = ChunkOccurrences.pack(x, y, z);
+            if (positions.remove(packed)) {
+                table = table.add(x, y, z, -1);
+            } else {
+                positions.add(packed);
+                table = table.add(x, y, z, 1);
+            }
+        }
+        assertRandomBoxes(random, positions, table);
+    }
+
+    /**
+     * Empty lists must share the empty table, which must be replaced rather than modified on the first change.
+     */
+    @Test
+    public void emptyTest() {
+        SummedVolumeTable empty = SummedVolumeTable.of(ChunkOccurrences.of(new int[0], 0));
+        assertSame(SummedVolumeTable.EMPTY, empty);
+        assertEquals(0, empty.getSizeInBytes());
+        assertEquals(0, empty.count(0, 0, 0, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+
+        SummedVolumeTable table = empty.add(1, 2, 3, 1);
+        assertNotSame(SummedVolumeTable.EMPTY, table);
+        assertEquals(1, table.count(0, 0, 0, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+        assertEquals(1, table.count(1, 2, 3, 1, 2, 3));
+        assertEquals(0, SummedVolumeTable.EMPTY.count(1, 2, 3, 1, 2, 3));
+    }
+
+    /**
+     * A chunk full of detectable blocks holds more blocks than a char can count; every box must still be exact.
+     */
+    @Test
+    public void fullChunkTest() {
+        int volume = Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z;
+        int[] packed = new int[volume];
+        for (int i = 0; i < volume; i++) {
+            packed[i] = i;
+        }
+        SummedVolumeTable table = SummedVolumeTable.of(ChunkOccurrences.of(packed, volume));
+
+        assertEquals(volume, table.count(0, 0, 0, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+        assertEquals(volume - Chunks.SIZE_X * Chunks.SIZE_Y, table.count(0, 0, 1, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+        assertEquals(8, table.count(3, 3, 3, 4, 4, 4));
+
+        table = table.add(0, 0, 0, -1);
+        assertEquals(volume - 1, table.count(0, 0, 0, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+        assertEquals(volume - Chunks.SIZE_X * Chunks.SIZE_Y, table.count(0, 0, 1, Chunks.SIZE_X - 1, Chunks.SIZE_Y - 1, Chunks.SIZE_Z - 1));
+        assertEquals(7, table.count(0, 0, 0, 1, 1, 1));
+    }
+
+    private static void assertRandomBoxes(Random random, TreeSet<Integer> positions, SummedVolumeTable table) {
+        for (int i = 0; i < 200; i++) {
+            int minX = random.nextInt(Chunks.SIZE_X);
+            int minY = random.nextInt(Chunks.SIZE_Y);
+            int minZ = random.nextInt(Chunks.SIZE_Z);
+            int maxX = minX + random.nextInt(Chunks.SIZE_X - minX);
+            int maxY = minY + random.nextInt(Chunks.SIZE_Y - minY);
+            int maxZ = minZ + random.nextInt(Chunks.SIZE_Z - minZ);
+            assertEquals(bruteForceCount(positions, minX, minY, minZ, maxX, maxY, maxZ),
+                    table.count(minX, minY, minZ, maxX, maxY, maxZ));
+        }
+    }
+}